@@ -0,0 +1,279 @@
+import algorithm.Board;
+import algorithm.SpaceFillingCurveTourSolver;
+import algorithm.TourSolver;
+import distributed.DistributedCoordinator;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distributed Check
+ *
+ * Runs the distributed search the way it is deployed, with every worker in its own
+ * JVM, and checks it against SpaceFillingCurveTourSolver, which finds the shortest tour:
+ *
+ *      1. The coordinator solves random boards with every worker connected.
+ *      2. While it solves a board that takes a few seconds, one worker process is killed.
+ *         The board must still be solved, by the remaining workers.
+ *      3. The coordinator solves more random boards with the remaining workers.
+ *
+ * The coordinator runs in this JVM and the workers are started on localhost from the
+ * same class path, so Main has to be on it.
+ *
+ *      java DistributedCheck [workers] [boards] [seed]
+ *
+ * The exit status is 0 if every check passed and 1 otherwise.
+ */
+public class DistributedCheck {
+
+    /**
+     * Private constants
+     * DEFAULT_WORKERS: Number of worker processes if none is specified
+     * DEFAULT_BOARDS: Number of random boards before and after the kill if none is specified
+     * MAX_POINTS: Largest random board
+     * KILL_DELAY_MILLIS: Time between starting the slow board and killing a worker
+     */
+    private static final int DEFAULT_WORKERS = 3;
+    private static final int DEFAULT_BOARDS = 200;
+    private static final int MAX_POINTS = 12;
+    private static final long KILL_DELAY_MILLIS = 500;
+
+    /**
+     * Private static member variables
+     * curve: The solver the results are checked against
+     * failures: Number of boards that failed a check
+     */
+    private static final TourSolver curve = new SpaceFillingCurveTourSolver();
+    private static int failures = 0;
+
+    /**
+     * Main Method
+     * @param args arguments
+     * @throws IOException if the port can't be opened or a worker can't be started
+     * @throws InterruptedException if the main thread is interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int workerCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_WORKERS;
+        int boards = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_BOARDS;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        Random random = new Random(seed);
+
+        if(workerCount < 2) {
+            throw new IllegalArgumentException("At least two workers are needed so one can be killed.");
+        }
+
+        int port;
+        try(ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+
+        // The workers keep trying to connect until the coordinator listens
+        ArrayList<Process> processes = new ArrayList<> ();
+        for(int i = 0; i < workerCount; i++) {
+            processes.add(startWorker(port));
+        }
+
+        try(DistributedCoordinator coordinator = new DistributedCoordinator(port, workerCount)) {
+            for(int i = 0; i < boards; i++) {
+                check(coordinator, randomBoard(random), "random board");
+            }
+            System.out.println("Distributed search vs SpaceFillingCurveTourSolver: " + boards
+                    + " boards with " + workerCount + " workers");
+
+            // Kill a worker while the slow board is being solved
+            Process victim = processes.get(0);
+            Thread killer = new Thread(() -> {
+                try {
+                    Thread.sleep(KILL_DELAY_MILLIS);
+                    victim.destroyForcibly();
+                } catch(InterruptedException e) {
+                    // The board was solved before the worker was killed
+                }
+            }, "distributed-check-killer");
+
+            Board slow = zigzagBoard(13);
+            long start = System.currentTimeMillis();
+            killer.start();
+            check(coordinator, slow, "board with a killed worker");
+            long millis = System.currentTimeMillis() - start;
+            killer.interrupt();
+            killer.join();
+
+            if(millis < KILL_DELAY_MILLIS) {
+                fail("the board with a killed worker was solved in " + millis
+                        + "ms, before the worker was killed");
+            }
+            victim.waitFor();
+
+            for(int i = 0; i < boards; i++) {
+                check(coordinator, randomBoard(random), "random board after the kill");
+            }
+            if(coordinator.getWorkerCount() != workerCount - 1) {
+                fail("expected " + (workerCount - 1) + " connected workers, found " + coordinator.getWorkerCount());
+            }
+            System.out.println("Distributed search after killing a worker: 1 board in " + millis + "ms and "
+                    + boards + " boards with " + coordinator.getWorkerCount() + " workers");
+        } finally {
+            for(Process process : processes) {
+                if(!process.waitFor(5, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            }
+        }
+
+        System.out.println(failures == 0 ? "All checks passed." : failures + " checks failed.");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * Private static method that starts a worker process on localhost
+     * @param port int port of the coordinator
+     * @return Process the worker process
+     * @throws IOException if the process can't be started
+     */
+    private static Process startWorker(int port) throws IOException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                "Main", "--worker", "localhost:" + port);
+        builder.inheritIO();
+        return builder.start();
+    }
+
+    /**
+     * Private static method that solves a board with the coordinator and checks the length
+     * of the tour against SpaceFillingCurveTourSolver
+     * @param coordinator DistributedCoordinator the coordinator
+     * @param board Board the board to solve
+     * @param check String name of the check
+     */
+    private static void check(DistributedCoordinator coordinator, Board board, String check) {
+        int[] expectedTour = new int[board.getSize() + 1];
+        long expected = curve.solve(board, expectedTour);
+
+        int[] tour = new int[board.getSize() + 1];
+        long actual;
+        try {
+            actual = coordinator.solve(board, tour);
+        } catch(RuntimeException e) {
+            fail(check + " failed with " + e);
+            return;
+        }
+
+        if(expected != actual) {
+            fail(check + " " + boardToString(board) + ": expected " + expected + ", actual " + actual);
+        } else if(!isTour(board, tour, actual)) {
+            fail(check + " " + boardToString(board) + ": the tour doesn't visit every point once or "
+                    + "isn't " + actual + " long");
+        }
+    }
+
+    /**
+     * Private static method that checks that a tour starts and ends at the initial point,
+     * visits every point once in between and has the given length
+     * @param board Board the board
+     * @param tour int[] the tour
+     * @param length long the length of the tour
+     * @return boolean true if the tour is valid, otherwise false
+     */
+    private static boolean isTour(Board board, int[] tour, long length) {
+        final int size = board.getSize();
+        if(tour[0] != board.getInitialPoint() || tour[size] != board.getInitialPoint()) {
+            return false;
+        }
+
+        // The points of a Board are sorted, so each point in the tour can be found by a binary search
+        int[] points = new int[size];
+        for(int i = 0; i < size; i++) {
+            points[i] = board.getPoint(i);
+        }
+        boolean[] visited = new boolean[size];
+        long total = 0;
+        for(int i = 0; i < size; i++) {
+            int index = Arrays.binarySearch(points, tour[i]);
+            if(index < 0 || visited[index]) {
+                return false;
+            }
+            visited[index] = true;
+            total += board.getShortestDistanceBetween(tour[i], tour[i + 1]);
+        }
+        return total == length;
+    }
+
+    /**
+     * Private static method that creates a random board with distinct points
+     * @param random Random random number generator
+     * @return Board the board
+     */
+    private static Board randomBoard(Random random) {
+        int lowest = random.nextInt(2001) - 1000;
+        int highest = lowest + MAX_POINTS + random.nextInt(3000);
+        int range = highest - lowest + 1;
+        int count = random.nextInt(MAX_POINTS + 1);
+
+        boolean[] taken = new boolean[range];
+        int[] points = new int[count];
+        for(int i = 0; i < count; i++) {
+            int offset;
+            do {
+                offset = random.nextInt(range);
+            } while(taken[offset]);
+            taken[offset] = true;
+            points[i] = lowest + offset;
+        }
+
+        int initialPoint = count > 0 && random.nextBoolean() ? points[random.nextInt(count)]
+                : lowest + random.nextInt(range);
+        return new Board(lowest, highest, initialPoint, points);
+    }
+
+    /**
+     * Private static method that creates a board the heuristic bound is poor on, so the
+     * search takes a few seconds. The points jump back and forth around the initial point
+     * with a growing stride.
+     * @param count int number of points besides the initial point
+     * @return Board the board
+     */
+    private static Board zigzagBoard(int count) {
+        int[] points = new int[count];
+        int stride = 1;
+        int lowest = 0;
+        int highest = 0;
+        for(int i = 0; i < count; i++) {
+            points[i] = i % 2 == 0 ? stride : -stride;
+            lowest = Math.min(lowest, points[i]);
+            highest = Math.max(highest, points[i]);
+            stride = (int) (stride * 1.6) + 1;
+        }
+        return new Board(lowest - 5, highest * 3, 0, points);
+    }
+
+    /**
+     * Private static method that formats a board for a failure message
+     * @param board Board the board
+     * @return String the range, initial point and points of the board
+     */
+    private static String boardToString(Board board) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("lowest ").append(board.getLowest()).append(", highest ").append(board.getHighest())
+                .append(", initial point ").append(board.getInitialPoint()).append(", points");
+        for(int i = 0; i < board.getSize(); i++) {
+            sb.append(' ').append(board.getPoint(i));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Private static method that reports a failed check. Only the first few failures are printed.
+     * @param message String description of the failure
+     */
+    private static void fail(String message) {
+        if(++failures <= 10) {
+            System.out.println("FAILED " + message);
+        }
+    }
+}
@@ -1,6 +1,24 @@
 import algorithm.NearestNeighborAlgorithm;
+import algorithm.NearestNeighborHeldKarp;
 import algorithm.NearestNeighborHeuristic;
+import algorithm.NearestNeighborMultiStart;
 import algorithm.NearestNeighborPermutation;
+import algorithm.NearestNeighborSpaceFillingCurve;
+import distributed.DistributedCoordinator;
+import distributed.DistributedWorker;
+import pipeline.BoardFormat;
+import pipeline.BoardPipeline;
+import pipeline.SolverType;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Robot Tour Optimization
@@ -22,6 +40,24 @@ import algorithm.NearestNeighborPermutation;
  * Problem: Robot Tour Optimization
  * Input: A set S of n points in the plane
  * Output: What is the shortest cycle tour that visits each point in the set S?
+ *
+ * Without arguments, Main solves a sample board with both algorithms. With arguments,
+ * Main streams boards from a file or the standard input through BoardPipeline:
+ *
+ *      java Main [--format text|ndjson] [--algorithm heuristic|multi_start|permutation|held_karp|curve|auto]
+ *                [--budget ms] [--memory-limit bytes] [--scratch-dir dir]
+ *                [--threads n] [--queue n] [--unordered] [file|-]
+ *
+ * Held-Karp tables larger than --memory-limit are backed by a memory-mapped file in
+ * --scratch-dir. Without --scratch-dir, they are always allocated in memory. The limit
+ * applies to each board, and each of the --threads solve threads may hold a table at the
+ * same time, so the total can reach --threads times the limit.
+ *
+ * The boards can also be solved exactly by a DistributedCoordinator that splits the search
+ * across worker processes, which are started with --worker and may run on other machines:
+ *
+ *      java Main --worker host:port
+ *      java Main [--format text|ndjson] --coordinator port --workers k [--queue n] [--unordered] [file|-]
  */
 public class Main {
 
@@ -30,6 +66,10 @@ public class Main {
      * @param args arguments
      */
     public static void main(String[] args) {
+        if(args.length > 0) {
+            System.exit(runPipeline(args));
+        }
+
 
         // Set input parameters
         int lowest = -21;
@@ -37,13 +77,22 @@ public class Main {
         int initialPoint = 0;
         int[] points = {-21, -11, -6, -5, -1, 0, 1, 5, 7, 11};
 
-        // Instantiate NearestNeighborHeuristic and NearestNeighborPermutation
+        // Instantiate the algorithms
         NearestNeighborAlgorithm heuristicAlgorithm =
                 new NearestNeighborHeuristic(lowest, highest, initialPoint, points);
 
+        NearestNeighborAlgorithm multiStartAlgorithm =
+                new NearestNeighborMultiStart(lowest, highest, initialPoint, points);
+
         NearestNeighborAlgorithm permutationAlgorithm =
                 new NearestNeighborPermutation(lowest, highest, initialPoint, points);
 
+        NearestNeighborHeldKarp heldKarpAlgorithm =
+                new NearestNeighborHeldKarp(lowest, highest, initialPoint, points);
+
+        NearestNeighborAlgorithm curveAlgorithm =
+                new NearestNeighborSpaceFillingCurve(lowest, highest, initialPoint, points);
+
         // Check for input errors
         if(heuristicAlgorithm.getHasError()) {
             System.out.println(heuristicAlgorithm.getErrorMessage());
@@ -59,14 +108,154 @@ public class Main {
             // Display the result of the heuristic algorithm
             System.out.println("The heuristic algorithm returned the following path:");
             System.out.println(heuristicAlgorithm.getSolution());
+            System.out.println("Tour Length: " + heuristicAlgorithm.getTourLength());
             System.out.println("Execution Time: " + heuristicAlgorithm.getExecutionTime() + "ms");
             System.out.println();
 
+            // Display the result of the multi-start algorithm
+            System.out.println("The multi-start algorithm returned the following path:");
+            System.out.println(multiStartAlgorithm.getSolution());
+            System.out.println("Tour Length: " + multiStartAlgorithm.getTourLength());
+            System.out.println("Execution Time: " + multiStartAlgorithm.getExecutionTime() + "ms");
+            System.out.println();
+
             // Display the result of the permutation algorithm
             System.out.println("The permutation algorithm returned the following path:");
             System.out.println(permutationAlgorithm.getSolution());
+            System.out.println("Tour Length: " + permutationAlgorithm.getTourLength());
             System.out.println("Execution Time: " + permutationAlgorithm.getExecutionTime() + "ms");
             System.out.println();
+
+            // Display the result of the Held-Karp algorithm
+            System.out.println("The Held-Karp algorithm returned the following path:");
+            System.out.println(heldKarpAlgorithm.getSolution());
+            System.out.println("Tour Length: " + heldKarpAlgorithm.getTourLength());
+            System.out.println("Table Size: " + heldKarpAlgorithm.getTableBytes() + " bytes");
+            System.out.println("Execution Time: " + heldKarpAlgorithm.getExecutionTime() + "ms");
+            System.out.println();
+
+            // Display the result of the space-filling curve algorithm
+            System.out.println("The space-filling curve algorithm returned the following path:");
+            System.out.println(curveAlgorithm.getSolution());
+            System.out.println("Tour Length: " + curveAlgorithm.getTourLength());
+            System.out.println("Execution Time: " + curveAlgorithm.getExecutionTime() + "ms");
+            System.out.println();
         }
     }
+
+    /**
+     * Private method that parses the command line arguments and runs the pipeline
+     * @param args arguments
+     * @return int exit status
+     */
+    private static int runPipeline(String[] args) {
+        BoardFormat format = BoardFormat.TEXT;
+        SolverType solverType = SolverType.HEURISTIC;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long budgetMillis = BoardPipeline.DEFAULT_BUDGET_MILLIS;
+        long memoryLimit = NearestNeighborHeldKarp.DEFAULT_MEMORY_LIMIT;
+        File scratchDirectory = null;
+        int queueCapacity = 64;
+        boolean ordered = true;
+        String inputFile = "-";
+        String worker = null;
+        int coordinatorPort = -1;
+        int workers = 1;
+
+        try {
+            for(int i = 0; i < args.length; i++) {
+                if(args[i].equals("--format")) {
+                    format = BoardFormat.valueOf(args[++i].toUpperCase());
+                } else if(args[i].equals("--algorithm")) {
+                    solverType = SolverType.valueOf(args[++i].toUpperCase());
+                } else if(args[i].equals("--budget")) {
+                    budgetMillis = Long.parseLong(args[++i]);
+                } else if(args[i].equals("--memory-limit")) {
+                    memoryLimit = Long.parseLong(args[++i]);
+                } else if(args[i].equals("--scratch-dir")) {
+                    scratchDirectory = new File(args[++i]);
+                } else if(args[i].equals("--threads")) {
+                    threads = Integer.parseInt(args[++i]);
+                } else if(args[i].equals("--queue")) {
+                    queueCapacity = Integer.parseInt(args[++i]);
+                } else if(args[i].equals("--unordered")) {
+                    ordered = false;
+                } else if(args[i].equals("--worker")) {
+                    worker = args[++i];
+                } else if(args[i].equals("--coordinator")) {
+                    coordinatorPort = Integer.parseInt(args[++i]);
+                } else if(args[i].equals("--workers")) {
+                    workers = Integer.parseInt(args[++i]);
+                } else if(args[i].startsWith("--")) {
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+                } else {
+                    inputFile = args[i];
+                }
+            }
+        } catch(ArrayIndexOutOfBoundsException e) {
+            System.err.println("Missing value for " + args[args.length - 1]);
+            printUsage();
+            return 2;
+        } catch(IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            printUsage();
+            return 2;
+        }
+
+        if(worker != null && worker.lastIndexOf(':') < 0) {
+            System.err.println("The worker needs the coordinator as host:port");
+            printUsage();
+            return 2;
+        }
+
+        DistributedCoordinator coordinator = null;
+        try {
+            if(worker != null) {
+                int separator = worker.lastIndexOf(':');
+                new DistributedWorker(worker.substring(0, separator),
+                        Integer.parseInt(worker.substring(separator + 1))).run();
+                return 0;
+            }
+
+            BoardPipeline pipeline;
+            if(coordinatorPort >= 0) {
+                System.err.println("Waiting for " + workers + " worker(s) on port " + coordinatorPort);
+                coordinator = new DistributedCoordinator(coordinatorPort, workers);
+
+                // The coordinator solves one board at a time
+                pipeline = new BoardPipeline(format, coordinator, 1, queueCapacity, ordered);
+            } else {
+                pipeline = new BoardPipeline(format, solverType, threads, queueCapacity, ordered, budgetMillis,
+                        memoryLimit, scratchDirectory);
+            }
+            InputStream in = inputFile.equals("-") ? System.in : new FileInputStream(inputFile);
+
+            try(Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                Writer writer = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+                pipeline.run(reader, writer);
+            }
+        } catch(IllegalArgumentException | IllegalStateException | IOException e) {
+            System.err.println(e.getMessage());
+            return 1;
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 1;
+        } finally {
+            if(coordinator != null) {
+                coordinator.close();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Private method that prints the command line usage
+     */
+    private static void printUsage() {
+        System.err.println("Usage: java Main [--format text|ndjson] [--algorithm heuristic|multi_start|permutation|held_karp|curve|auto]");
+        System.err.println("                 [--budget ms] [--memory-limit bytes] [--scratch-dir dir]");
+        System.err.println("                 [--threads n] [--queue n] [--unordered] [file|-]");
+        System.err.println("       java Main [--format text|ndjson] --coordinator port --workers k [--queue n] [--unordered] [file|-]");
+        System.err.println("       java Main --worker host:port");
+    }
 }
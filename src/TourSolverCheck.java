@@ -0,0 +1,245 @@
+import algorithm.Board;
+import algorithm.HeuristicTourSolver;
+import algorithm.NearestNeighborAlgorithm;
+import algorithm.NearestNeighborHeldKarp;
+import algorithm.NearestNeighborHeuristic;
+import algorithm.NearestNeighborPermutation;
+import algorithm.SpaceFillingCurveTourSolver;
+import algorithm.TourSolver;
+
+import java.util.Random;
+
+/**
+ * Tour Solver Check
+ *
+ * The stateless solvers replaced the original algorithms on the main paths, so this
+ * class checks on random boards that they still give the same answers:
+ *
+ *      1. HeuristicTourSolver finds exactly the same tour as NearestNeighborHeuristic.
+ *      2. SpaceFillingCurveTourSolver finds a tour as short as NearestNeighborPermutation
+ *         on small boards and as NearestNeighborHeldKarp on medium boards, so it is optimal.
+ *      3. Board rejects exactly the input that NearestNeighborAlgorithm rejects, with the
+ *         same error message.
+ *
+ * The random boards include initial points that aren't points to visit, points on both
+ * ends of the range, duplicates and points out of range.
+ *
+ *      java TourSolverCheck [boards] [seed]
+ *
+ * The exit status is 0 if every check passed and 1 otherwise.
+ */
+public class TourSolverCheck {
+
+    /**
+     * Private constants
+     * DEFAULT_BOARDS: Number of random boards for each check if none is specified
+     * PERMUTATION_POINTS: Largest board checked against NearestNeighborPermutation
+     * HELD_KARP_POINTS: Largest board checked against NearestNeighborHeldKarp
+     */
+    private static final int DEFAULT_BOARDS = 20000;
+    private static final int PERMUTATION_POINTS = 8;
+    private static final int HELD_KARP_POINTS = 14;
+
+    /**
+     * Private static member variables
+     * heuristic: The stateless heuristic under test
+     * curve: The stateless space-filling curve under test
+     * failures: Number of boards that failed a check
+     */
+    private static final TourSolver heuristic = new HeuristicTourSolver();
+    private static final TourSolver curve = new SpaceFillingCurveTourSolver();
+    private static int failures = 0;
+
+    /**
+     * Main Method
+     * @param args arguments
+     */
+    public static void main(String[] args) {
+        int boards = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BOARDS;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+        Random random = new Random(seed);
+
+        for(int i = 0; i < boards; i++) {
+            checkHeuristic(random);
+        }
+        System.out.println("HeuristicTourSolver vs NearestNeighborHeuristic: " + boards + " boards");
+
+        // The permutation algorithm takes m! steps, so only a share of the boards is checked against it
+        for(int i = 0; i < boards; i++) {
+            checkCurve(random, i % 10 == 0 ? PERMUTATION_POINTS : HELD_KARP_POINTS);
+        }
+        System.out.println("SpaceFillingCurveTourSolver vs exact algorithms: " + boards + " boards");
+
+        for(int i = 0; i < boards; i++) {
+            checkErrors(random);
+        }
+        System.out.println("Board vs NearestNeighborAlgorithm input checks: " + boards + " boards");
+
+        System.out.println(failures == 0 ? "All checks passed." : failures + " checks failed.");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * Private static method that checks HeuristicTourSolver against NearestNeighborHeuristic
+     * @param random Random random number generator
+     */
+    private static void checkHeuristic(Random random) {
+        int[] input = randomBoard(random, 60, false);
+        int lowest = input[0];
+        int highest = input[1];
+        int initialPoint = input[2];
+        int[] points = pointsOf(input);
+
+        NearestNeighborAlgorithm expected = new NearestNeighborHeuristic(lowest, highest, initialPoint, points);
+        String expectedTour = expected.getSolution();
+
+        Board board = new Board(lowest, highest, initialPoint, points);
+        int[] tour = new int[board.getSize() + 1];
+        long length = heuristic.solve(board, tour);
+
+        if(!expectedTour.equals(tourToString(tour)) || expected.getTourLength() != length) {
+            fail("heuristic", input, expectedTour + "(" + expected.getTourLength() + ")",
+                    tourToString(tour) + "(" + length + ")");
+        }
+    }
+
+    /**
+     * Private static method that checks the length of the SpaceFillingCurveTourSolver tour
+     * against an exact algorithm
+     * @param random Random random number generator
+     * @param maxPoints int largest number of points to visit
+     */
+    private static void checkCurve(Random random, int maxPoints) {
+        int[] input = randomBoard(random, maxPoints, false);
+        int lowest = input[0];
+        int highest = input[1];
+        int initialPoint = input[2];
+        int[] points = pointsOf(input);
+
+        NearestNeighborAlgorithm expected = maxPoints <= PERMUTATION_POINTS
+                ? new NearestNeighborPermutation(lowest, highest, initialPoint, points)
+                : new NearestNeighborHeldKarp(lowest, highest, initialPoint, points);
+        expected.getSolution();
+
+        Board board = new Board(lowest, highest, initialPoint, points);
+        int[] tour = new int[board.getSize() + 1];
+        long length = curve.solve(board, tour);
+
+        if(expected.getTourLength() != length) {
+            fail("curve", input, expected.getClass().getSimpleName() + " " + expected.getTourLength(),
+                    tourToString(tour) + "(" + length + ")");
+        }
+    }
+
+    /**
+     * Private static method that checks that Board and NearestNeighborAlgorithm reject the same input
+     * with the same error message
+     * @param random Random random number generator
+     */
+    private static void checkErrors(Random random) {
+        int[] input = randomBoard(random, 20, true);
+        int lowest = input[0];
+        int highest = input[1];
+        int initialPoint = input[2];
+        int[] points = pointsOf(input);
+
+        NearestNeighborAlgorithm expected = new NearestNeighborHeuristic(lowest, highest, initialPoint, points);
+        Board board = new Board(lowest, highest, initialPoint, points);
+
+        if(expected.getHasError() != board.getHasError()
+                || !expected.getErrorMessage().equals(board.getErrorMessage())) {
+            fail("input check", input, expected.getErrorMessage(), board.getErrorMessage());
+        }
+    }
+
+    /**
+     * Private static method that creates a random board
+     * @param random Random random number generator
+     * @param maxPoints int largest number of points to visit
+     * @param invalid boolean true to sometimes make the input invalid
+     * @return int[] lowest, highest and initial point followed by the points to visit
+     */
+    private static int[] randomBoard(Random random, int maxPoints, boolean invalid) {
+        int lowest = random.nextInt(2001) - 1000;
+        int highest = lowest + 1 + random.nextInt(random.nextBoolean() ? 20 : 3000);
+        int range = highest - lowest + 1;
+        int count = random.nextInt(Math.min(maxPoints, range) + 1);
+
+        // Pick distinct points, with the ends of the range more likely than the rest
+        boolean[] taken = new boolean[range];
+        int[] board = new int[count + 3];
+        for(int i = 0; i < count; i++) {
+            int offset;
+            do {
+                int choice = random.nextInt(10);
+                offset = choice == 0 ? 0 : choice == 1 ? range - 1 : random.nextInt(range);
+            } while(taken[offset]);
+            taken[offset] = true;
+            board[i + 3] = lowest + offset;
+        }
+
+        board[0] = lowest;
+        board[1] = highest;
+        board[2] = count > 0 && random.nextBoolean() ? board[3 + random.nextInt(count)]
+                : lowest + random.nextInt(range);
+
+        if(invalid && count > 1) {
+            int choice = random.nextInt(6);
+            if(choice == 0) {
+                board[3 + random.nextInt(count)] = board[3 + random.nextInt(count)];
+            } else if(choice == 1) {
+                board[3 + random.nextInt(count)] = random.nextBoolean() ? lowest - 1 : highest + 1;
+            } else if(choice == 4) {
+                // Both errors, so the order they are reported in matters
+                board[3 + random.nextInt(count)] = board[3 + random.nextInt(count)];
+                board[3 + random.nextInt(count)] = random.nextBoolean() ? lowest - 1 : highest + 1;
+            } else if(choice == 2) {
+                board[2] = random.nextBoolean() ? lowest - 1 : highest + 1;
+            } else if(choice == 3) {
+                board[1] = lowest - random.nextInt(2);
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Private static method that returns the points to visit of a random board
+     * @param board int[] board created by randomBoard()
+     * @return int[] the points to visit
+     */
+    private static int[] pointsOf(int[] board) {
+        int[] points = new int[board.length - 3];
+        System.arraycopy(board, 3, points, 0, points.length);
+        return points;
+    }
+
+    /**
+     * Private static method that formats a tour the same way NearestNeighborAlgorithm.getSolution() does
+     * @param tour int[] the tour
+     * @return String the points of the tour separated by spaces
+     */
+    private static String tourToString(int[] tour) {
+        StringBuilder sb = new StringBuilder();
+        for(int point : tour) {
+            sb.append(point);
+            sb.append(" ");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Private static method that reports a failed check. Only the first few failures are printed.
+     * @param check String name of the check
+     * @param board int[] the board
+     * @param expected String the expected result
+     * @param actual String the actual result
+     */
+    private static void fail(String check, int[] board, String expected, String actual) {
+        if(++failures <= 10) {
+            System.out.println("FAILED " + check + " on lowest " + board[0] + ", highest " + board[1]
+                    + ", initial point " + board[2] + ", points " + tourToString(pointsOf(board)));
+            System.out.println("    expected: " + expected);
+            System.out.println("    actual:   " + actual);
+        }
+    }
+}
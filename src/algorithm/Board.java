@@ -0,0 +1,287 @@
+package algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Board is an immutable circuit board: the lowest and highest point, the initial point
+ * and the points to visit.
+ *
+ * A NearestNeighborAlgorithm object bundles the board with the state of solving it, so
+ * a new object is needed for every board and the object can't be shared between threads.
+ * A Board only describes the problem. It can be solved by any TourSolver, any number of
+ * times and from any number of threads at once.
+ *
+ * The points are stored in ascending order, with the initial point added if it isn't
+ * one of the points to visit. They are sorted with a least significant digit radix sort
+ * on their offset from the lowest point, which also makes duplicates easy to find.
+ * Input errors are reported in the same order as NearestNeighborAlgorithm reports them,
+ * so a duplicate that comes before the first point out of range wins over it.
+ */
+public final class Board {
+
+    /**
+     * Private member variables
+     * lowest: The lowest point
+     * highest: The highest point
+     * initialPoint: The first contact point
+     * initialIndex: Index of the initial point in points
+     * circumference: The largest possible distance between two points plus one
+     * hasError: Flag raised if the input parameters have an error
+     * errorMessage: The description of the input error
+     * points: The points to visit, including the initial point, in ascending order.
+     *         The array never leaves this class, so it can't be modified after construction.
+     */
+    private final int lowest;
+    private final int highest;
+    private final int initialPoint;
+    private final int initialIndex;
+    private final long circumference;
+    private final boolean hasError;
+    private final String errorMessage;
+    private final int[] points;
+
+    /**
+     * Constructor
+     * @param lowest The lowest point
+     * @param highest The highest point
+     * @param initialPoint The first contact point
+     * @param pointsToVisit The set of points to be visited by the robot arm
+     */
+    public Board(int lowest, int highest, int initialPoint, int[] pointsToVisit) {
+        this.lowest = lowest;
+        this.highest = highest;
+        this.initialPoint = initialPoint;
+        this.circumference = (long) highest - lowest + 1;
+
+        // Only the points before the first one out of range can be sorted. A duplicate
+        // among them is found before the point out of range, like NearestNeighborAlgorithm does.
+        String error = inputError();
+        int outside = firstPointOutside(pointsToVisit);
+        int[] sorted = new int[0];
+        if(error == null) {
+            sorted = sortWithInitialPoint(outside == pointsToVisit.length ? pointsToVisit
+                    : Arrays.copyOf(pointsToVisit, outside));
+        }
+
+        // Duplicates are next to each other once the points are sorted
+        int index = -1;
+        for(int i = 0; i < sorted.length && error == null; i++) {
+            if(i > 0 && sorted[i] == sorted[i - 1]) {
+                error = "Duplicate points found in the set.";
+            } else if(sorted[i] == initialPoint) {
+                index = i;
+            }
+        }
+
+        if(error == null && outside < pointsToVisit.length) {
+            error = "Some points in the set is not between the lowest point and the highest point.";
+        }
+
+        this.hasError = error != null;
+        this.errorMessage = error == null ? "" : error;
+        this.points = hasError ? new int[0] : sorted;
+        this.initialIndex = index;
+    }
+
+    /**
+     * Public get method for hasError
+     * @return boolean true if input error exists, otherwise false
+     */
+    public boolean getHasError() {
+        return hasError;
+    }
+
+    /**
+     * Public get method for errorMessage
+     * @return String error message
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * Public get method for lowest
+     * @return int the lowest point
+     */
+    public int getLowest() {
+        return lowest;
+    }
+
+    /**
+     * Public get method for highest
+     * @return int the highest point
+     */
+    public int getHighest() {
+        return highest;
+    }
+
+    /**
+     * Public get method for initialPoint
+     * @return int the initial point
+     */
+    public int getInitialPoint() {
+        return initialPoint;
+    }
+
+    /**
+     * Public method that returns the number of points, including the initial point
+     * @return int number of points
+     */
+    public int getSize() {
+        return points.length;
+    }
+
+    /**
+     * Public method that returns a point. The points are in ascending order.
+     * @param index int index of the point
+     * @return int the point
+     */
+    public int getPoint(int index) {
+        return points[index];
+    }
+
+    /**
+     * Package-private get method for initialIndex
+     * @return int index of the initial point
+     */
+    int getInitialIndex() {
+        return initialIndex;
+    }
+
+    /**
+     * Package-private method that checks that this board can be solved into the given tour array
+     * @param tour int[] array that receives the tour
+     * @throws IllegalArgumentException if the board has an input error or the array is too small
+     */
+    void checkTour(int[] tour) {
+        if(hasError) {
+            throw new IllegalArgumentException(errorMessage);
+        }
+        if(tour.length < points.length + 1) {
+            throw new IllegalArgumentException("The tour array needs " + (points.length + 1) + " elements.");
+        }
+    }
+
+    /**
+     * Public method that calculates the shortest distance between two points on this board.
+     * Like the board itself, the path is circular.
+     * @param firstPoint The first point
+     * @param secondPoint The second point
+     * @return int the shortest distance between the two points
+     */
+    public int getShortestDistanceBetween(int firstPoint, int secondPoint) {
+        long difference = Math.abs((long) firstPoint - secondPoint);
+        return (int) Math.min(difference, circumference - difference);
+    }
+
+    /**
+     * Private method that checks the lowest, highest and initial point
+     * @return String description of the input error, or null if there is none
+     */
+    private String inputError() {
+        if(lowest >= highest) {
+            return "The lowest point must be less than the highest point.";
+        }
+
+        if(initialPoint < lowest || initialPoint > highest) {
+            return "The initial point must be between the lowest point and the highest point.";
+        }
+        return null;
+    }
+
+    /**
+     * Private method that finds the first point that is not between the lowest and the highest point
+     * @param pointsToVisit The set of points to be visited by the robot arm
+     * @return int index of the first point out of range, or the number of points if there is none
+     */
+    private int firstPointOutside(int[] pointsToVisit) {
+        for(int i = 0; i < pointsToVisit.length; i++) {
+            if(pointsToVisit[i] < lowest || pointsToVisit[i] > highest) {
+                return i;
+            }
+        }
+        return pointsToVisit.length;
+    }
+
+    /**
+     * Private method that sorts the points together with the initial point by their offset
+     * from the lowest point. The initial point is only kept once if it is also a point to visit.
+     * @param pointsToVisit The set of points to be visited by the robot arm
+     * @return int[] points in ascending order
+     */
+    private int[] sortWithInitialPoint(int[] pointsToVisit) {
+        final int size = pointsToVisit.length;
+        final Scratch scratch = Scratch.get();
+        final int[] counts = scratch.getCounts();
+
+        // Sort the keys with the initial point as the last one. The offsets are treated as
+        // unsigned integers so the full range of int is supported.
+        int[] keys = new int[size + 1];
+        int largestKey = 0;
+        for(int i = 0; i < size; i++) {
+            keys[i] = pointsToVisit[i] - lowest;
+            largestKey |= keys[i];
+        }
+        keys[size] = initialPoint - lowest;
+        largestKey |= keys[size];
+
+        int[] result = keys;
+        int[] buffer = scratch.getBuffer(size + 1);
+
+        for(int shift = 0; shift < Integer.SIZE && (largestKey >>> shift) != 0; shift += 8) {
+            for(int i = 0; i < Scratch.RADIX; i++) {
+                counts[i] = 0;
+            }
+            for(int i = 0; i <= size; i++) {
+                counts[(keys[i] >>> shift) & (Scratch.RADIX - 1)]++;
+            }
+
+            // Turn the counts into the starting position of each bucket
+            int position = 0;
+            for(int i = 0; i < Scratch.RADIX; i++) {
+                int count = counts[i];
+                counts[i] = position;
+                position += count;
+            }
+
+            for(int i = 0; i <= size; i++) {
+                buffer[counts[(keys[i] >>> shift) & (Scratch.RADIX - 1)]++] = keys[i];
+            }
+
+            int[] sorted = buffer;
+            buffer = keys;
+            keys = sorted;
+        }
+
+        // After an odd number of passes, the sorted keys are in the scratch buffer
+        if(keys != result) {
+            System.arraycopy(keys, 0, result, 0, size + 1);
+        }
+
+        // Drop the extra copy of the initial point if it is also a point to visit. The sort is
+        // stable, so the extra copy is the last of the equal keys. Any other copies are
+        // duplicates in the input and are left for the caller to find.
+        int initialKey = initialPoint - lowest;
+        int extraCopy = -1;
+        for(int i = 1; i <= size && extraCopy < 0; i++) {
+            if(result[i] == initialKey && result[i - 1] == initialKey
+                    && (i == size || result[i + 1] != initialKey)) {
+                extraCopy = i;
+            }
+        }
+
+        int count = 0;
+        for(int i = 0; i <= size; i++) {
+            if(i != extraCopy) {
+                result[count++] = result[i] + lowest;
+            }
+        }
+
+        if(count == result.length) {
+            return result;
+        }
+        int[] trimmed = new int[count];
+        System.arraycopy(result, 0, trimmed, 0, count);
+        return trimmed;
+    }
+}
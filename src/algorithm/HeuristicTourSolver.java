@@ -0,0 +1,68 @@
+package algorithm;
+
+/**
+ * Stateless Nearest-Neighbor Heuristic
+ * Finds the same tour as NearestNeighborHeuristic: from the initial point, walk to the
+ * nearest unvisited point, where the lower point wins a tie, until every point has been
+ * visited and then return to the initial point.
+ *
+ * The points of a Board are sorted around the circle, so the nearest unvisited point is
+ * always the next unvisited point in one of the two directions. The unvisited points are
+ * kept in a circular doubly linked list of indices, which makes each step constant time
+ * instead of a scan over every point.
+ */
+public final class HeuristicTourSolver implements TourSolver {
+
+    /**
+     * Implement solve method to find the nearest-neighbor tour
+     * @param board Board the board to solve
+     * @param tour int[] array of at least board.getSize() + 1 elements that receives the tour
+     * @return long total distance of the tour
+     * @throws IllegalArgumentException if the board has an input error or the array is too small
+     */
+    @Override
+    public long solve(Board board, int[] tour) {
+        board.checkTour(tour);
+
+        final int size = board.getSize();
+        final Scratch scratch = Scratch.get();
+        final int[] next = scratch.getNext(size);
+        final int[] previous = scratch.getPrevious(size);
+
+        for(int i = 0; i < size; i++) {
+            next[i] = i + 1 == size ? 0 : i + 1;
+            previous[i] = i == 0 ? size - 1 : i - 1;
+        }
+
+        int current = board.getInitialIndex();
+        long tourLength = 0;
+        tour[0] = board.getPoint(current);
+
+        for(int step = 1; step < size; step++) {
+            // Take the current point out of the list of unvisited points
+            int after = next[current];
+            int before = previous[current];
+            next[before] = after;
+            previous[after] = before;
+
+            final int point = board.getPoint(current);
+            int afterDistance = board.getShortestDistanceBetween(point, board.getPoint(after));
+            int beforeDistance = board.getShortestDistanceBetween(point, board.getPoint(before));
+
+            if(afterDistance < beforeDistance || (afterDistance == beforeDistance && after < before)) {
+                current = after;
+                tourLength += afterDistance;
+            } else {
+                current = before;
+                tourLength += beforeDistance;
+            }
+            tour[step] = board.getPoint(current);
+        }
+
+        // Return to the initial point
+        tourLength += board.getShortestDistanceBetween(board.getPoint(current), board.getInitialPoint());
+        tour[size] = board.getInitialPoint();
+
+        return tourLength;
+    }
+}
@@ -2,6 +2,7 @@ package algorithm;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 
 /**
  * Robot Tour Optimization
@@ -34,6 +35,9 @@ public abstract class NearestNeighborAlgorithm {
      * lowest: The lowest boundary on the circuit board.
      * highest: The highest boundary on the circuit board
      * executionTime: Algorithm Execution Time in milliseconds
+     * tourLength: Total distance of the solution path, including the return to the initial point
+     * nodesToVisit: The points to visit as nodes, or null for an algorithm that solves a Board
+     * board: The board for an algorithm that solves a Board, otherwise null
      *
      * Note: There is no actual boundary on the circuit board as the path is circular.
      * So the lowest and highest are only logical boundaries. If you move 1 back from
@@ -57,7 +61,9 @@ public abstract class NearestNeighborAlgorithm {
     int lowest;
     int highest;
     ArrayList<Node> nodesToVisit = null;
+    Board board = null;
     long executionTime = 0;
+    long tourLength = 0;
 
     /**
      * Private Member Variables
@@ -98,6 +104,24 @@ public abstract class NearestNeighborAlgorithm {
         }
     }
 
+    /**
+     * Package-private constructor for an algorithm that solves a Board. The board has
+     * already checked the input, so the points are never copied into nodesToVisit.
+     * @param board The board to solve
+     */
+    NearestNeighborAlgorithm(Board board) {
+        if(board.getHasError()) {
+            errorMessage = board.getErrorMessage();
+        } else {
+            hasError = false;
+            this.board = board;
+
+            this.lowest = board.getLowest();
+            this.highest = board.getHighest();
+            this.initialPoint = board.getInitialPoint();
+        }
+    }
+
     /**
      * A method that checks given input for correctness
      * @param lowest The lowest point
@@ -119,7 +143,7 @@ public abstract class NearestNeighborAlgorithm {
 
         // Container to store each point from pointsToVisit during runtime
         // so a duplicate point can be identified
-        ArrayList<Integer> integerContainer = new ArrayList<> ();
+        HashSet<Integer> integerContainer = new HashSet<> ();
 
         for(int point : pointsToVisit) {
             if(integerContainer.contains(point)) {
@@ -157,6 +181,16 @@ public abstract class NearestNeighborAlgorithm {
         return hasError;
     }
 
+    /**
+     * Package-private method for a concrete algorithm class to reject input
+     * that it can't handle
+     * @param errorMessage String description of the input error
+     */
+    void setError(String errorMessage) {
+        this.hasError = true;
+        this.errorMessage = errorMessage;
+    }
+
     /**
      * Public get method for errorMessage member variable
      * @return String error message
@@ -173,6 +207,15 @@ public abstract class NearestNeighborAlgorithm {
         return executionTime;
     }
 
+    /**
+     * Public get method to get the total distance of the solution path.
+     * The path is solved by getSolution(), so this returns 0 until getSolution() is called.
+     * @return long total distance of the solution path
+     */
+    public long getTourLength() {
+        return tourLength;
+    }
+
     /**
      * Public method to return input parameters for debugging purposes
      * @return String representation of input parameters
@@ -194,9 +237,16 @@ public abstract class NearestNeighborAlgorithm {
 
         sb.append("Points To Visit: ");
         sb.append(System.getProperty("line.separator"));
-        for(Node node : nodesToVisit) {
-            sb.append(node.getPoint());
-            sb.append(" ");
+        if(board != null) {
+            for(int i = 0; i < board.getSize(); i++) {
+                sb.append(board.getPoint(i));
+                sb.append(" ");
+            }
+        } else {
+            for(Node node : nodesToVisit) {
+                sb.append(node.getPoint());
+                sb.append(" ");
+            }
         }
 
         return sb.toString();
@@ -226,6 +276,17 @@ public abstract class NearestNeighborAlgorithm {
      * @return int the shortest distance between the two nodes
      */
     int getShortestDistanceBetween(Node firstNode, Node secondNode) {
+        return getShortestDistanceBetween(firstNode.getPoint(), secondNode.getPoint());
+    }
+
+    /**
+     * Generic package-private method that calculates the shortest distance between
+     * two points
+     * @param firstPoint The first point
+     * @param secondPoint The second point
+     * @return int the shortest distance between the two points
+     */
+    int getShortestDistanceBetween(int firstPoint, int secondPoint) {
         // Largest Distance is the largest possible distance between any two given nodes
         // with the given lowest and highest point.
         // Because the path is circular, the distance between two nodes can be calculated two
@@ -233,7 +294,7 @@ public abstract class NearestNeighborAlgorithm {
         int largestDistance = highest - lowest + 1;
 
         // Calculate the distance in one direction with a simple subtraction
-        int difference = Math.abs(firstNode.getPoint() - secondNode.getPoint());
+        int difference = Math.abs(firstPoint - secondPoint);
 
         // Calculate the distance in the other direction by subtracting the difference
         // from the largest distance and then return the shortest of the two
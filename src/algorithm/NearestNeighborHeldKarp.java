@@ -0,0 +1,279 @@
+package algorithm;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Held-Karp Dynamic Programming Algorithm
+ * Like NearestNeighborPermutation, this algorithm is guaranteed to find the shortest
+ * possible tour, but it doesn't enumerate every ordering of the points. Instead, it finds
+ * the shortest path from the initial point through each subset S of the other points
+ * that ends at each point j in S:
+ *
+ *      shortest(S, j) = min over k in S - {j} of shortest(S - {j}, k) + distance(k, j)
+ *
+ * and closes the tour from the best end point. With m points besides the initial point,
+ * this takes 2^m * m^2 steps instead of m! steps, so boards with 20 or more points can be
+ * solved. The catch is the table of 2^m * m four-byte values, which takes about 3.4GB
+ * at m = 25 and more than doubles with every further point. MAX_POINTS caps m at 27, where the
+ * table takes about 14.5GB and has to be backed by a scratch file on most machines.
+ *
+ * The table stores path lengths as int values, so the algorithm also rejects a board if
+ * its longest possible tour, one half of the circumference for each point, doesn't fit in
+ * an int. NearestNeighborSpaceFillingCurve solves such boards.
+ *
+ * The table is allocated outside of the Java heap so the garbage collector never has to
+ * copy or scan it, and it is backed by a memory-mapped scratch file when it is larger than
+ * the memory limit. The table is released as soon as the tour has been found. Its size is
+ * reported by getTableBytes(). The memory limit applies to each board: when several boards
+ * are solved at the same time, each of them may allocate up to the limit in memory.
+ */
+public class NearestNeighborHeldKarp extends NearestNeighborAlgorithm {
+
+    /**
+     * Public constant
+     * MAX_POINTS: The largest number of points, including the initial point, this algorithm accepts.
+     *             With 28 points, the table takes 2^27 * 27 * 4 bytes, about 14.5GB.
+     */
+    public static final int MAX_POINTS = 28;
+
+    /**
+     * Public constant
+     * DEFAULT_MEMORY_LIMIT: Largest table, in bytes, callers allocate in memory if they have no
+     *                       other limit. It is half of the maximum heap size: direct buffers are
+     *                       limited to the maximum heap size by default, so this leaves the other
+     *                       half for the direct buffers of the rest of the JVM. It is a limit
+     *                       per board, so callers that solve boards concurrently should divide
+     *                       it by the number of boards solved at the same time.
+     */
+    public static final long DEFAULT_MEMORY_LIMIT = Runtime.getRuntime().maxMemory() / 2;
+
+    /**
+     * Private member variables
+     * memoryLimit: Largest table, in bytes, to allocate in memory for this board
+     * scratchDirectory: Directory for the scratch file of larger tables, or null to always allocate in memory
+     * tour: The points in the order the robot arm visits them, ending at the initial point
+     * tableBytes: Size of the table used by the last solve
+     * usedScratchFile: Flag raised if the table was backed by a scratch file
+     * solved: Flag to raise if a solution has been provided by this algorithm object so
+     *         this object does not have to solve the same problem again
+     */
+    private final long memoryLimit;
+    private final File scratchDirectory;
+    private int[] tour = null;
+    private long tableBytes = 0;
+    private boolean usedScratchFile = false;
+    private boolean solved = false;
+
+    /**
+     * Constructor. The table is always allocated in memory.
+     * @param lowest The lowest point
+     * @param highest The highest point
+     * @param initialPoint The first contact point
+     * @param pointsToVisit The set of points to be visited by the robot arm
+     */
+    public NearestNeighborHeldKarp(int lowest, int highest, int initialPoint, int[] pointsToVisit) {
+        this(lowest, highest, initialPoint, pointsToVisit, Long.MAX_VALUE, null);
+    }
+
+    /**
+     * Constructor
+     * @param lowest The lowest point
+     * @param highest The highest point
+     * @param initialPoint The first contact point
+     * @param pointsToVisit The set of points to be visited by the robot arm
+     * @param memoryLimit Largest table, in bytes, to allocate in memory
+     * @param scratchDirectory Directory for the scratch file of larger tables, or null to
+     *                         always allocate in memory
+     */
+    public NearestNeighborHeldKarp(int lowest, int highest, int initialPoint, int[] pointsToVisit,
+                                   long memoryLimit, File scratchDirectory) {
+        super(lowest, highest, initialPoint, pointsToVisit);
+        this.memoryLimit = memoryLimit;
+        this.scratchDirectory = scratchDirectory;
+
+        if(getHasError()) {
+            return;
+        }
+
+        // Each leg of a tour is at most half of the circumference
+        long longestTour = (long) nodesToVisit.size() * (((long) highest - lowest + 1) / 2);
+        if(nodesToVisit.size() > MAX_POINTS) {
+            setError("The Held-Karp algorithm can't handle more than " + MAX_POINTS + " points.");
+        } else if(longestTour > Integer.MAX_VALUE) {
+            setError("The Held-Karp algorithm can't handle tours longer than " + Integer.MAX_VALUE + ".");
+        }
+    }
+
+    /**
+     * Implement getSolution method to provide the solution from this algorithm
+     * @return String solution path
+     * @throws IllegalStateException if the table can't be allocated
+     */
+    @Override
+    public String getSolution() {
+        StringBuilder sb = new StringBuilder();
+
+        if(!solved) {
+            solve();
+            solved = true;
+        }
+
+        for(int point : tour) {
+            sb.append(point);
+            sb.append(" ");
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Public get method for the size of the table in bytes.
+     * The table is allocated by getSolution(), so this returns 0 until getSolution() is called.
+     * @return long size of the table in bytes
+     */
+    public long getTableBytes() {
+        return tableBytes;
+    }
+
+    /**
+     * Public method that tells whether the table was backed by a scratch file
+     * @return boolean true if the table was memory-mapped to a scratch file, otherwise false
+     */
+    public boolean getUsedScratchFile() {
+        return usedScratchFile;
+    }
+
+    /**
+     * Private method to solve the problem with this algorithm
+     */
+    private void solve() {
+        final long startTime = System.currentTimeMillis();
+
+        // Index 0 is the initial point and bit j - 1 of a subset stands for point j
+        final int size = nodesToVisit.size();
+        final int[] points = new int[size];
+        points[0] = initialPoint;
+        int next = 1;
+        for(Node node : nodesToVisit) {
+            if(node.getPoint() != initialPoint) {
+                points[next++] = node.getPoint();
+            }
+        }
+
+        final int[][] distances = new int[size][size];
+        for(int i = 0; i < size; i++) {
+            for(int j = 0; j < size; j++) {
+                distances[i][j] = getShortestDistanceBetween(points[i], points[j]);
+            }
+        }
+
+        tour = new int[size + 1];
+        tour[0] = initialPoint;
+        tour[size] = initialPoint;
+
+        final int others = size - 1;
+        if(others > 0) {
+            try(OffHeapIntTable table = new OffHeapIntTable((1L << others) * others, memoryLimit, scratchDirectory)) {
+                tableBytes = table.getBytes();
+                usedScratchFile = table.getUsesScratchFile();
+
+                fillTable(table, distances, others);
+                tourLength = reconstructTour(table, distances, points, others);
+            } catch(IOException | OutOfMemoryError e) {
+                throw new IllegalStateException("The Held-Karp table of " + (((1L << others) * others) * Integer.BYTES)
+                        + " bytes can't be allocated: " + e.getMessage(), e);
+            }
+        }
+
+        final long endTime = System.currentTimeMillis();
+        executionTime = endTime - startTime;
+    }
+
+    /**
+     * Private method that fills the table with the shortest path length for every subset
+     * and end point. The value for subset S and end point j is stored at S * others + j,
+     * and a subset is always filled after all of its own subsets since those are smaller numbers.
+     * @param table OffHeapIntTable the table to fill
+     * @param distances int[][] distances between the points
+     * @param others int number of points besides the initial point
+     */
+    private void fillTable(OffHeapIntTable table, int[][] distances, int others) {
+        final long fullSet = (1L << others) - 1;
+
+        for(long subset = 1; subset <= fullSet; subset++) {
+            for(int j = 0; j < others; j++) {
+                long endBit = 1L << j;
+                if((subset & endBit) == 0) {
+                    continue;
+                }
+
+                long previousSubset = subset ^ endBit;
+                int shortest;
+
+                if(previousSubset == 0) {
+                    // Go straight from the initial point to point j
+                    shortest = distances[0][j + 1];
+                } else {
+                    shortest = Integer.MAX_VALUE;
+                    long previousBase = previousSubset * others;
+                    for(int k = 0; k < others; k++) {
+                        if((previousSubset & (1L << k)) != 0) {
+                            int length = table.get(previousBase + k) + distances[k + 1][j + 1];
+                            if(length < shortest) {
+                                shortest = length;
+                            }
+                        }
+                    }
+                }
+                table.set(subset * others + j, shortest);
+            }
+        }
+    }
+
+    /**
+     * Private method that walks the filled table back from the best end point to
+     * recover the order of the points
+     * @param table OffHeapIntTable the filled table
+     * @param distances int[][] distances between the points
+     * @param points int[] points, with the initial point at index 0
+     * @param others int number of points besides the initial point
+     * @return int total distance of the tour
+     */
+    private int reconstructTour(OffHeapIntTable table, int[][] distances, int[] points, int others) {
+        long subset = (1L << others) - 1;
+
+        // Find the best point to return to the initial point from
+        int end = 0;
+        int shortest = Integer.MAX_VALUE;
+        for(int j = 0; j < others; j++) {
+            int length = table.get(subset * others + j) + distances[j + 1][0];
+            if(length < shortest) {
+                shortest = length;
+                end = j;
+            }
+        }
+
+        // Fill the tour from the back. Each step looks for the point that the stored
+        // length of the current subset was computed from.
+        for(int position = others; position > 0; position--) {
+            tour[position] = points[end + 1];
+
+            int length = table.get(subset * others + end);
+            subset ^= 1L << end;
+            if(subset == 0) {
+                break;
+            }
+
+            for(int k = 0; k < others; k++) {
+                if((subset & (1L << k)) != 0
+                        && table.get(subset * others + k) + distances[k + 1][end + 1] == length) {
+                    end = k;
+                    break;
+                }
+            }
+        }
+
+        return shortest;
+    }
+}
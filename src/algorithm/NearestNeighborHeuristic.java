@@ -19,6 +19,9 @@ import java.util.ArrayList;
  * points: {-21, -5, -1, 0, 1, 3, 11}
  *
  * It will hopscotch left-right-left-right on this simple circuit board
+ *
+ * Each object of this class solves a single board and marks the nodes of that board as
+ * it visits them. HeuristicTourSolver finds the same tour without any per-board state.
  */
 public class NearestNeighborHeuristic extends NearestNeighborAlgorithm {
 
@@ -107,6 +110,7 @@ public class NearestNeighborHeuristic extends NearestNeighborAlgorithm {
             Node nearestNode = findNodeByFlagAndDistance(nodesToVisit,"U", shortestDistance);
 
             // Visit the nearest node
+            tourLength += shortestDistance;
             nearestNode.setFlag("V");
             visitedNodes.add(nearestNode);
 
@@ -115,6 +119,7 @@ public class NearestNeighborHeuristic extends NearestNeighborAlgorithm {
         }
 
         // Return to the initial node
+        tourLength += getShortestDistanceBetween(currentNode, initialNode);
         visitedNodes.add(initialNode);
 
         final long endTime = System.currentTimeMillis();
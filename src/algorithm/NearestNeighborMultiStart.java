@@ -0,0 +1,227 @@
+package algorithm;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Multi-Start Nearest-Neighbor Heuristic Algorithm
+ * Runs several randomized variants of the nearest-neighbor heuristic in parallel
+ * and keeps the shortest tour.
+ *
+ * The plain heuristic always starts at the initial point and always picks the first
+ * of several equally near neighbors, so it ends up with the same hopscotch tour every
+ * time. Each variant here differs from it in three ways:
+ *
+ *      1. It starts at a random point. Since the tour is a closed cycle, it is rotated
+ *         back to the initial point afterwards without changing its length.
+ *      2. Ties between equally near neighbors are broken at random.
+ *      3. Now and then, it walks to one of the few nearest neighbors instead of the
+ *         nearest one.
+ *
+ * The first variant is the plain heuristic, so the result is never worse than the
+ * one from NearestNeighborHeuristic. This algorithm is still not correct, but it
+ * finds the optimal path for the example in NearestNeighborHeuristic.
+ *
+ * The variants only read the shared input. Every thread works in its own scratch
+ * arrays, which are reused by all the variants that run on that thread.
+ */
+public class NearestNeighborMultiStart extends NearestNeighborAlgorithm {
+
+    /**
+     * Public constants
+     * DEFAULT_STARTS: Number of variants if none is specified
+     * CANDIDATES: Number of nearest neighbors a variant may choose from
+     * RANDOM_CHOICE_PERCENT: Chance, in percent, that a variant does not walk to the nearest neighbor
+     */
+    public static final int DEFAULT_STARTS = 32;
+    public static final int CANDIDATES = 3;
+    public static final int RANDOM_CHOICE_PERCENT = 20;
+
+    /**
+     * Private member variables
+     * starts: Number of randomized variants to run
+     * visitedNodes: Ordered List of Nodes that represents the shortest path found
+     * bestTour: Indices into nodesToVisit of the shortest tour found so far
+     * bestDistance: Total distance of bestTour
+     * solved: Flag to raise if a solution has been provided by this algorithm object so
+     *         this object does not have to solve the same problem again
+     */
+    private final int starts;
+    private ArrayList<Node> visitedNodes = new ArrayList<> ();
+    private int[] bestTour = null;
+    private long bestDistance = Long.MAX_VALUE;
+    private boolean solved = false;
+
+    /**
+     * Constructor
+     * @param lowest The lowest point
+     * @param highest The highest point
+     * @param initialPoint The first contact point
+     * @param pointsToVisit The set of points to be visited by the robot arm
+     */
+    public NearestNeighborMultiStart(int lowest, int highest, int initialPoint, int[] pointsToVisit) {
+        this(lowest, highest, initialPoint, pointsToVisit, DEFAULT_STARTS);
+    }
+
+    /**
+     * Constructor
+     * @param lowest The lowest point
+     * @param highest The highest point
+     * @param initialPoint The first contact point
+     * @param pointsToVisit The set of points to be visited by the robot arm
+     * @param starts The number of randomized variants to run. Must be at least 1.
+     */
+    public NearestNeighborMultiStart(int lowest, int highest, int initialPoint, int[] pointsToVisit,
+                                     int starts) {
+        super(lowest, highest, initialPoint, pointsToVisit);
+        this.starts = Math.max(1, starts);
+    }
+
+    /**
+     * Implement getSolution method to provide the solution from this algorithm
+     * @return String solution path
+     */
+    @Override
+    public String getSolution() {
+        StringBuilder sb = new StringBuilder();
+
+        if(!solved) {
+            solve();
+            solved = true;
+        }
+
+        for(Node node : visitedNodes) {
+            sb.append(node.getPoint());
+            sb.append(" ");
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Private method to solve the problem with this algorithm
+     */
+    private void solve() {
+        final long startTime = System.currentTimeMillis();
+
+        // Copy the points into an array that every variant can read without locking
+        final int size = nodesToVisit.size();
+        final int[] points = new int[size];
+        for(int i = 0; i < size; i++) {
+            points[i] = nodesToVisit.get(i).getPoint();
+        }
+        final int initialIndex = nodesToVisit.indexOf(new Node(initialPoint));
+
+        IntStream.range(0, starts).parallel().forEach(variant -> runVariant(variant, points, initialIndex));
+
+        // Rotate the best tour so it starts at the initial point and return to the initial point
+        int offset = 0;
+        while(bestTour[offset] != initialIndex) {
+            offset++;
+        }
+        for(int i = 0; i < size; i++) {
+            visitedNodes.add(nodesToVisit.get(bestTour[(offset + i) % size]));
+        }
+        visitedNodes.add(nodesToVisit.get(initialIndex));
+        tourLength = bestDistance;
+
+        final long endTime = System.currentTimeMillis();
+        executionTime = endTime - startTime;
+    }
+
+    /**
+     * Private method that builds one tour in the scratch arrays of the current thread
+     * and keeps it if it is the shortest so far
+     * @param variant int variant number. Variant 0 is the plain nearest-neighbor heuristic.
+     * @param points int[] points to visit
+     * @param initialIndex int index of the initial point
+     */
+    private void runVariant(int variant, int[] points, int initialIndex) {
+        final int size = points.length;
+        final Scratch scratch = Scratch.get();
+        final boolean[] visited = scratch.getVisited(size);
+        final int[] tour = scratch.getTour(size);
+        final int[] candidates = scratch.getCandidates();
+        final int[] candidateDistances = scratch.getCandidateDistances();
+        final Random random = ThreadLocalRandom.current();
+        final boolean randomized = variant > 0;
+
+        for(int i = 0; i < size; i++) {
+            visited[i] = false;
+        }
+
+        int current = randomized ? random.nextInt(size) : initialIndex;
+        visited[current] = true;
+        tour[0] = current;
+        long totalDistance = 0;
+
+        for(int step = 1; step < size; step++) {
+            // Keep the nearest unvisited neighbors sorted by distance
+            int found = 0;
+            int candidateLimit = randomized ? CANDIDATES : 1;
+
+            for(int i = 0; i < size; i++) {
+                if(visited[i]) {
+                    continue;
+                }
+
+                int distance = getShortestDistanceBetween(points[current], points[i]);
+
+                // Find the insertion position. The plain heuristic keeps the first of equally
+                // near neighbors, a randomized variant keeps a random one.
+                int position = found;
+                while(position > 0 && (candidateDistances[position - 1] > distance
+                        || (randomized && candidateDistances[position - 1] == distance && random.nextBoolean()))) {
+                    position--;
+                }
+                if(position >= candidateLimit) {
+                    continue;
+                }
+
+                int last = Math.min(found, candidateLimit - 1);
+                for(int j = last; j > position; j--) {
+                    candidates[j] = candidates[j - 1];
+                    candidateDistances[j] = candidateDistances[j - 1];
+                }
+                candidates[position] = i;
+                candidateDistances[position] = distance;
+                if(found < candidateLimit) {
+                    found++;
+                }
+            }
+
+            int choice = 0;
+            if(randomized && found > 1 && random.nextInt(100) < RANDOM_CHOICE_PERCENT) {
+                choice = 1 + random.nextInt(found - 1);
+            }
+
+            current = candidates[choice];
+            totalDistance += candidateDistances[choice];
+            visited[current] = true;
+            tour[step] = current;
+        }
+
+        // Return to the start of the cycle
+        totalDistance += getShortestDistanceBetween(points[current], points[tour[0]]);
+
+        keepIfShorter(tour, size, totalDistance);
+    }
+
+    /**
+     * Private method that copies the given tour if it is shorter than the best tour so far
+     * @param tour int[] indices of the tour
+     * @param size int number of points in the tour
+     * @param totalDistance long total distance of the tour
+     */
+    private synchronized void keepIfShorter(int[] tour, int size, long totalDistance) {
+        if(totalDistance < bestDistance) {
+            if(bestTour == null) {
+                bestTour = new int[size];
+            }
+            System.arraycopy(tour, 0, bestTour, 0, size);
+            bestDistance = totalDistance;
+        }
+    }
+}
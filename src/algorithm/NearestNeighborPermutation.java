@@ -100,6 +100,7 @@ public class NearestNeighborPermutation extends NearestNeighborAlgorithm {
 
         // Copy the nodes in the path with the shortest distance to visitedNodes
         visitedNodes.addAll(optimalPath.getNodes());
+        tourLength = shortestDistance;
 
         final long endTime = System.currentTimeMillis();
         executionTime = endTime - startTime;
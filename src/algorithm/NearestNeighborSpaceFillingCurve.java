@@ -0,0 +1,42 @@
+package algorithm;
+
+/**
+ * Space-Filling Curve Algorithm
+ * Visits the points in the order in which a space-filling curve passes through them.
+ *
+ * On a two dimensional board, the key of a point along a Hilbert or Morton curve is
+ * computed by interleaving the bits of its coordinates, and sorting the points by
+ * that key gives a tour whose length is within a small factor of the optimal one.
+ * The circuit board here is a circle with a single coordinate, so the curve is simply
+ * the circle itself and the key of a point is its offset from the lowest point.
+ *
+ * The keys are sorted by Board with a least significant digit radix sort, one byte per
+ * pass, so the algorithm runs in linear time and never compares two points. The walk
+ * along the curve is done by SpaceFillingCurveTourSolver. The input is only checked and
+ * sorted by Board, and the execution time includes both.
+ *
+ * Walking once around the circle covers every gap between two neighboring points
+ * the short way, so it either travels the circumference or, when the largest gap is
+ * more than half the circumference, goes out and back over the rest of the circle.
+ * No tour can be shorter than the smaller of the two, so on this board the algorithm
+ * is not only fast but also correct.
+ */
+public class NearestNeighborSpaceFillingCurve extends NearestNeighborTourSolver {
+
+    /**
+     * Private static member variable
+     * solver: The stateless solver shared by every object of this class
+     */
+    private static final TourSolver solver = new SpaceFillingCurveTourSolver();
+
+    /**
+     * Constructor
+     * @param lowest The lowest point
+     * @param highest The highest point
+     * @param initialPoint The first contact point
+     * @param pointsToVisit The set of points to be visited by the robot arm
+     */
+    public NearestNeighborSpaceFillingCurve(int lowest, int highest, int initialPoint, int[] pointsToVisit) {
+        super(lowest, highest, initialPoint, pointsToVisit, solver);
+    }
+}
@@ -0,0 +1,90 @@
+package algorithm;
+
+/**
+ * NearestNeighborTourSolver solves a problem with any TourSolver, so a TourSolver that
+ * lives outside of this package, like the distributed branch-and-bound search, can be
+ * used wherever a NearestNeighborAlgorithm is expected.
+ *
+ * The input is checked and sorted by Board alone, so unlike the other algorithms this
+ * one never builds a node for each point. The execution time includes constructing the
+ * board, since that is where the points are sorted.
+ */
+public class NearestNeighborTourSolver extends NearestNeighborAlgorithm {
+
+    /**
+     * Private member variables
+     * solver: The solver that finds the tour
+     * setupNanos: Time it took to check the input and sort the points into the board
+     * tour: The points in the order the robot arm visits them, ending at the initial point
+     * solved: Flag to raise if a solution has been provided by this algorithm object so
+     *         this object does not have to solve the same problem again
+     */
+    private final TourSolver solver;
+    private final long setupNanos;
+    private int[] tour = null;
+    private boolean solved = false;
+
+    /**
+     * Constructor
+     * @param lowest The lowest point
+     * @param highest The highest point
+     * @param initialPoint The first contact point
+     * @param pointsToVisit The set of points to be visited by the robot arm
+     * @param solver The solver that finds the tour
+     */
+    public NearestNeighborTourSolver(int lowest, int highest, int initialPoint, int[] pointsToVisit,
+                                     TourSolver solver) {
+        this(System.nanoTime(), lowest, highest, initialPoint, pointsToVisit, solver);
+    }
+
+    /**
+     * Private constructor that times the construction of the board, which is part of the
+     * execution time since the board sorts the points
+     * @param startTime Value of System.nanoTime() before the board is constructed
+     * @param lowest The lowest point
+     * @param highest The highest point
+     * @param initialPoint The first contact point
+     * @param pointsToVisit The set of points to be visited by the robot arm
+     * @param solver The solver that finds the tour
+     */
+    private NearestNeighborTourSolver(long startTime, int lowest, int highest, int initialPoint,
+                                      int[] pointsToVisit, TourSolver solver) {
+        super(new Board(lowest, highest, initialPoint, pointsToVisit));
+        this.solver = solver;
+        this.setupNanos = System.nanoTime() - startTime;
+    }
+
+    /**
+     * Implement getSolution method to provide the solution from the solver
+     * @return String solution path
+     */
+    @Override
+    public String getSolution() {
+        StringBuilder sb = new StringBuilder();
+
+        if(!solved) {
+            solve();
+            solved = true;
+        }
+
+        for(int point : tour) {
+            sb.append(point);
+            sb.append(" ");
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Private method to solve the problem with the solver
+     */
+    private void solve() {
+        final long startTime = System.nanoTime();
+
+        tour = new int[board.getSize() + 1];
+        tourLength = solver.solve(board, tour);
+
+        final long endTime = System.nanoTime();
+        executionTime = (setupNanos + endTime - startTime) / 1000000;
+    }
+}
@@ -0,0 +1,200 @@
+package algorithm;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * OffHeapIntTable is a fixed size table of int values stored outside of the Java heap.
+ *
+ * Exact algorithms keep one value per state and quickly need tables of several hundred
+ * megabytes or more. On the heap, such a table makes the garbage collector copy and scan
+ * it, which stalls every other thread in the JVM. Here, the values live in direct buffers,
+ * or in a memory-mapped scratch file when the table is larger than the given memory limit.
+ * The limit applies to this table alone, not to every table open at the same time.
+ *
+ * A single buffer can't hold more than 2GB, so the table is split into chunks of
+ * CHUNK_BYTES bytes. The memory is released by close() rather than by the garbage
+ * collector, so the table must not be used after it has been closed. close() also deletes
+ * the scratch file. Only if that fails is the file left for the JVM to delete on exit, so
+ * a long-running process doesn't collect an entry for every table it has ever mapped.
+ */
+class OffHeapIntTable implements AutoCloseable {
+
+    /**
+     * Private constants
+     * CHUNK_SHIFT: log2 of the number of values per chunk
+     * CHUNK_MASK: Mask for the position of a value within its chunk
+     * CHUNK_BYTES: Number of bytes per chunk
+     */
+    private static final int CHUNK_SHIFT = 28;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+    private static final long CHUNK_BYTES = (1L << CHUNK_SHIFT) * Integer.BYTES;
+
+    /**
+     * Private member variables
+     * size: Number of values in the table
+     * chunks: Buffers that hold the values
+     * scratchFile: The file that backs the buffers, or null if the buffers are direct buffers
+     */
+    private final long size;
+    private ByteBuffer[] chunks;
+    private File scratchFile = null;
+
+    /**
+     * Package-private constructor
+     * @param size long number of values in the table
+     * @param memoryLimit long largest number of bytes to allocate in memory. Larger tables
+     *                    are mapped to a scratch file if a scratch directory is given.
+     * @param scratchDirectory File directory for the scratch file, or null to always allocate in memory
+     * @throws IOException if the scratch file can't be created or mapped
+     */
+    OffHeapIntTable(long size, long memoryLimit, File scratchDirectory) throws IOException {
+        this.size = size;
+
+        long bytes = getBytes();
+        int chunkCount = (int) ((bytes + CHUNK_BYTES - 1) / CHUNK_BYTES);
+        chunks = new ByteBuffer[chunkCount];
+
+        if(bytes > memoryLimit && scratchDirectory != null) {
+            scratchFile = File.createTempFile("nearest-neighbor-", ".table", scratchDirectory);
+
+            try(RandomAccessFile file = new RandomAccessFile(scratchFile, "rw")) {
+                file.setLength(bytes);
+                FileChannel channel = file.getChannel();
+                for(int i = 0; i < chunkCount; i++) {
+                    long position = i * CHUNK_BYTES;
+                    chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, position,
+                            Math.min(CHUNK_BYTES, bytes - position));
+                    chunks[i].order(ByteOrder.nativeOrder());
+                }
+            } catch(IOException e) {
+                close();
+                throw e;
+            }
+        } else {
+            try {
+                for(int i = 0; i < chunkCount; i++) {
+                    long position = i * CHUNK_BYTES;
+                    chunks[i] = ByteBuffer.allocateDirect((int) Math.min(CHUNK_BYTES, bytes - position));
+                    chunks[i].order(ByteOrder.nativeOrder());
+                }
+            } catch(OutOfMemoryError e) {
+                close();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Package-private method to read a value
+     * @param index long index of the value
+     * @return int the value
+     */
+    int get(long index) {
+        return chunks[(int) (index >>> CHUNK_SHIFT)].getInt((int) (index & CHUNK_MASK) << 2);
+    }
+
+    /**
+     * Package-private method to write a value
+     * @param index long index of the value
+     * @param value int the value
+     */
+    void set(long index, int value) {
+        chunks[(int) (index >>> CHUNK_SHIFT)].putInt((int) (index & CHUNK_MASK) << 2, value);
+    }
+
+    /**
+     * Package-private get method for the size of the table in bytes
+     * @return long number of bytes
+     */
+    long getBytes() {
+        return size * Integer.BYTES;
+    }
+
+    /**
+     * Package-private method that tells whether the table is backed by a scratch file
+     * @return boolean true if the table is memory-mapped to a scratch file, otherwise false
+     */
+    boolean getUsesScratchFile() {
+        return scratchFile != null;
+    }
+
+    /**
+     * Releases the memory of the table and deletes the scratch file
+     */
+    @Override
+    public void close() {
+        if(chunks != null) {
+            for(ByteBuffer chunk : chunks) {
+                if(chunk != null) {
+                    BufferCleaner.free(chunk);
+                }
+            }
+            chunks = null;
+        }
+
+        if(scratchFile != null && !scratchFile.delete()) {
+            scratchFile.deleteOnExit();
+        }
+    }
+
+    /**
+     * BufferCleaner releases the memory of a direct or mapped buffer right away instead of
+     * waiting for the garbage collector. Java 8 exposes a cleaner on each direct buffer,
+     * later versions expose Unsafe.invokeCleaner instead. If neither is accessible, the
+     * memory is left for the garbage collector.
+     */
+    private static class BufferCleaner {
+
+        /**
+         * Private static member variables
+         * unsafe: The Unsafe instance on Java 9 and later, otherwise null
+         * invokeCleaner: Unsafe.invokeCleaner on Java 9 and later, otherwise null
+         */
+        private static final Object unsafe;
+        private static final Method invokeCleaner;
+
+        static {
+            Object instance = null;
+            Method method = null;
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                method = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                Field field = unsafeClass.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                instance = field.get(null);
+            } catch(ReflectiveOperationException | RuntimeException e) {
+                method = null;
+            }
+            unsafe = instance;
+            invokeCleaner = method;
+        }
+
+        /**
+         * Private static method that releases the memory of the given buffer
+         * @param buffer ByteBuffer direct or mapped buffer
+         */
+        private static void free(ByteBuffer buffer) {
+            try {
+                if(invokeCleaner != null) {
+                    invokeCleaner.invoke(unsafe, buffer);
+                } else {
+                    Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                    cleanerMethod.setAccessible(true);
+                    Object cleaner = cleanerMethod.invoke(buffer);
+                    if(cleaner != null) {
+                        cleaner.getClass().getMethod("clean").invoke(cleaner);
+                    }
+                }
+            } catch(ReflectiveOperationException | RuntimeException e) {
+                // Leave the buffer to the garbage collector
+            }
+        }
+    }
+}
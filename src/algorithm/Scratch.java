@@ -0,0 +1,139 @@
+package algorithm;
+
+/**
+ * Scratch holds the working arrays of one thread so that solving a board doesn't
+ * allocate anything once the thread has seen a board of the same size.
+ *
+ * Each array only ever grows, to the size of the largest board the thread has seen.
+ * The arrays are shared by every algorithm that runs on the thread, so a method must
+ * be done with them before it calls another method that uses them.
+ */
+final class Scratch {
+
+    /**
+     * Package-private constant
+     * RADIX: Number of buckets per radix sort pass
+     */
+    static final int RADIX = 1 << 8;
+
+    /**
+     * Private static member variable
+     * local: The scratch arrays of each thread
+     */
+    private static final ThreadLocal<Scratch> local = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * Private member variables
+     * visited: Flag for each point that is raised once the point has been visited
+     * tour: Indices of the points in the order they were visited
+     * next, previous: Links between the unvisited points
+     * buffer: Second array for the radix sort
+     * counts: Bucket counts for the radix sort
+     * candidates, candidateDistances: Nearest unvisited neighbors and their distances
+     */
+    private boolean[] visited = new boolean[0];
+    private int[] tour = new int[0];
+    private int[] next = new int[0];
+    private int[] previous = new int[0];
+    private int[] buffer = new int[0];
+    private final int[] counts = new int[RADIX];
+    private final int[] candidates = new int[NearestNeighborMultiStart.CANDIDATES];
+    private final int[] candidateDistances = new int[NearestNeighborMultiStart.CANDIDATES];
+
+    /**
+     * Private constructor. Use get() instead.
+     */
+    private Scratch() { }
+
+    /**
+     * Package-private static method that returns the scratch arrays of the current thread
+     * @return Scratch scratch arrays of the current thread
+     */
+    static Scratch get() {
+        return local.get();
+    }
+
+    /**
+     * Package-private method that returns the visited flags. The flags are not cleared.
+     * @param size int number of points
+     * @return boolean[] array of at least size elements
+     */
+    boolean[] getVisited(int size) {
+        if(visited.length < size) {
+            visited = new boolean[size];
+        }
+        return visited;
+    }
+
+    /**
+     * Package-private method that returns the tour array
+     * @param size int number of points
+     * @return int[] array of at least size elements
+     */
+    int[] getTour(int size) {
+        if(tour.length < size) {
+            tour = new int[size];
+        }
+        return tour;
+    }
+
+    /**
+     * Package-private method that returns the forward links
+     * @param size int number of points
+     * @return int[] array of at least size elements
+     */
+    int[] getNext(int size) {
+        if(next.length < size) {
+            next = new int[size];
+        }
+        return next;
+    }
+
+    /**
+     * Package-private method that returns the backward links
+     * @param size int number of points
+     * @return int[] array of at least size elements
+     */
+    int[] getPrevious(int size) {
+        if(previous.length < size) {
+            previous = new int[size];
+        }
+        return previous;
+    }
+
+    /**
+     * Package-private method that returns the radix sort buffer
+     * @param size int number of keys
+     * @return int[] array of at least size elements
+     */
+    int[] getBuffer(int size) {
+        if(buffer.length < size) {
+            buffer = new int[size];
+        }
+        return buffer;
+    }
+
+    /**
+     * Package-private get method for the radix sort bucket counts
+     * @return int[] array of RADIX elements
+     */
+    int[] getCounts() {
+        return counts;
+    }
+
+    /**
+     * Package-private get method for the nearest neighbor candidates
+     * @return int[] array of NearestNeighborMultiStart.CANDIDATES elements
+     */
+    int[] getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * Package-private get method for the distances of the nearest neighbor candidates
+     * @return int[] array of NearestNeighborMultiStart.CANDIDATES elements
+     */
+    int[] getCandidateDistances() {
+        return candidateDistances;
+    }
+}
@@ -0,0 +1,40 @@
+package algorithm;
+
+/**
+ * Stateless Space-Filling Curve Algorithm
+ * Finds the same tour as NearestNeighborSpaceFillingCurve. A Board already keeps its
+ * points sorted along the curve, which on the circular board is the circle itself, so
+ * the tour is a single walk around the circle from the initial point.
+ */
+public final class SpaceFillingCurveTourSolver implements TourSolver {
+
+    /**
+     * Implement solve method to walk the points along the curve
+     * @param board Board the board to solve
+     * @param tour int[] array of at least board.getSize() + 1 elements that receives the tour
+     * @return long total distance of the tour
+     * @throws IllegalArgumentException if the board has an input error or the array is too small
+     */
+    @Override
+    public long solve(Board board, int[] tour) {
+        board.checkTour(tour);
+
+        final int size = board.getSize();
+        final int offset = board.getInitialIndex();
+        long tourLength = 0;
+
+        for(int i = 0; i < size; i++) {
+            int index = offset + i < size ? offset + i : offset + i - size;
+            tour[i] = board.getPoint(index);
+            if(i > 0) {
+                tourLength += board.getShortestDistanceBetween(tour[i - 1], tour[i]);
+            }
+        }
+
+        // Return to the initial point
+        tour[size] = board.getInitialPoint();
+        tourLength += board.getShortestDistanceBetween(tour[size - 1], tour[size]);
+
+        return tourLength;
+    }
+}
@@ -0,0 +1,28 @@
+package algorithm;
+
+/**
+ * TourSolver is a stateless algorithm that finds a tour for a Board.
+ *
+ * Unlike a NearestNeighborAlgorithm object, a TourSolver holds no state of its own.
+ * One instance can solve any number of boards from any number of threads at once.
+ * The working arrays come from the scratch arrays of the calling thread and the tour
+ * is written to an array supplied by the caller, so once a thread has solved a board
+ * of a given size, solving boards up to that size allocates nothing.
+ */
+public interface TourSolver {
+
+    /**
+     * Solves the board and writes the tour to the given array. The tour starts at the
+     * initial point and ends with the return to the initial point, so it takes
+     * board.getSize() + 1 elements.
+     *
+     * Example:
+     * 0 3 5 7 0
+     *
+     * @param board Board the board to solve
+     * @param tour int[] array of at least board.getSize() + 1 elements that receives the tour
+     * @return long total distance of the tour
+     * @throws IllegalArgumentException if the board has an input error or the array is too small
+     */
+    long solve(Board board, int[] tour);
+}
@@ -0,0 +1,210 @@
+package algorithm;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * TourSolverFactory picks the algorithm for each board from a cost model so callers
+ * don't have to choose between a fast but incorrect algorithm and a correct but slow one.
+ *
+ * On a circular board, the shortest tour is a single walk around the circle, so
+ * NearestNeighborSpaceFillingCurve is exact and takes linear time. Every other algorithm
+ * in this package is either slower on every board, like NearestNeighborHeldKarp and
+ * NearestNeighborMultiStart, or sorts the same Board and is not exact, like
+ * HeuristicTourSolver. The factory therefore always picks the curve, and the cost model
+ * only predicts how long the curve takes:
+ *
+ *      n * (passes + 1) steps
+ *
+ * n being the number of points and passes the number of radix sort passes Board needs,
+ * one for each byte of the largest offset from the lowest point. The extra pass is the
+ * walk around the circle. When the factory is created, it times the curve on a random
+ * board and derives the time per step on this machine.
+ *
+ * Each decision is logged together with the predicted execution time and whether it fits
+ * in the caller's latency budget, and report() logs the actual execution time once the
+ * board has been solved, so the model can be re-tuned if the two drift apart. These
+ * records are logged at FINE so a stream of boards doesn't flood the console, and only
+ * the calibration is logged at INFO.
+ */
+public class TourSolverFactory {
+
+    /**
+     * Private constants for the calibration
+     * CALIBRATION_RUNS: Number of times the curve is timed. The fastest run is used
+     *                   so the first runs can warm up the JIT compiler.
+     * CALIBRATION_POINTS: Number of points of the calibration board
+     * CALIBRATION_RANGE: Range of the calibration board
+     */
+    private static final int CALIBRATION_RUNS = 10;
+    private static final int CALIBRATION_POINTS = 100000;
+    private static final int CALIBRATION_RANGE = 1 << 20;
+
+    /**
+     * Private static member variable
+     * logger: Logger for the decisions and the calibration
+     */
+    private static final Logger logger = Logger.getLogger(TourSolverFactory.class.getName());
+
+    /**
+     * Private member variables
+     * curveNanos: Calibrated nanoseconds per step of the space-filling curve
+     * predictions: Predicted execution time of each algorithm that hasn't been reported yet
+     */
+    private double curveNanos;
+    private final Map<NearestNeighborAlgorithm, Double> predictions =
+            Collections.synchronizedMap(new WeakHashMap<> ());
+
+    /**
+     * Constructor. Calibrates the cost model.
+     */
+    public TourSolverFactory() {
+        calibrate();
+    }
+
+    /**
+     * Public method that picks and instantiates the algorithm for the given board
+     * @param lowest The lowest point
+     * @param highest The highest point
+     * @param initialPoint The first contact point
+     * @param pointsToVisit The set of points to be visited by the robot arm
+     * @param budgetMillis The longest execution time, in milliseconds, the caller is willing to wait
+     * @return NearestNeighborAlgorithm algorithm object for the board
+     */
+    public NearestNeighborAlgorithm create(int lowest, int highest, int initialPoint, int[] pointsToVisit,
+                                           long budgetMillis) {
+        // The initial point is added to the points to visit if it isn't one of them
+        int size = pointsToVisit.length + 1;
+        for(int point : pointsToVisit) {
+            if(point == initialPoint) {
+                size = pointsToVisit.length;
+                break;
+            }
+        }
+
+        int passes = radixPasses((long) highest - lowest);
+        double predicted = curveNanos * size * (passes + 1) / 1e6;
+
+        NearestNeighborAlgorithm algorithm = new NearestNeighborSpaceFillingCurve(lowest, highest, initialPoint,
+                pointsToVisit);
+        if(!algorithm.getHasError()) {
+            predictions.put(algorithm, predicted);
+        }
+
+        if(logger.isLoggable(Level.FINE)) {
+            logger.fine(String.format("Chose space-filling curve for %d points in a range of %d (%d radix passes) "
+                            + "with a budget of %dms. Predicted time: %.3fms%s", size, (long) highest - lowest + 1,
+                    passes, budgetMillis, predicted, predicted > budgetMillis ? ", over budget" : ""));
+        }
+
+        return algorithm;
+    }
+
+    /**
+     * Public method that picks the algorithm for the given board, solves the board
+     * and reports the execution time
+     * @param lowest The lowest point
+     * @param highest The highest point
+     * @param initialPoint The first contact point
+     * @param pointsToVisit The set of points to be visited by the robot arm
+     * @param budgetMillis The longest execution time, in milliseconds, the caller is willing to wait
+     * @return NearestNeighborAlgorithm algorithm object that has solved the board, unless it has an input error
+     */
+    public NearestNeighborAlgorithm solve(int lowest, int highest, int initialPoint, int[] pointsToVisit,
+                                          long budgetMillis) {
+        NearestNeighborAlgorithm algorithm = create(lowest, highest, initialPoint, pointsToVisit, budgetMillis);
+        if(!algorithm.getHasError()) {
+            algorithm.getSolution();
+            report(algorithm);
+        }
+        return algorithm;
+    }
+
+    /**
+     * Public method that logs the predicted and the actual execution time of an algorithm
+     * created by this factory. It should be called after getSolution().
+     * @param algorithm NearestNeighborAlgorithm algorithm object created by this factory
+     */
+    public void report(NearestNeighborAlgorithm algorithm) {
+        Double predicted = predictions.remove(algorithm);
+        if(predicted != null && logger.isLoggable(Level.FINE)) {
+            logger.fine(String.format("Solved the board with space-filling curve in %dms. Predicted time: %.3fms",
+                    algorithm.getExecutionTime(), predicted));
+        }
+    }
+
+    /**
+     * Public method to return the calibrated cost model for debugging purposes
+     * @return String representation of the cost model
+     */
+    public String getCostModel() {
+        return String.format("space-filling curve: %.3fns per step", curveNanos);
+    }
+
+    /**
+     * Private method that times the curve on a random board and derives its time per step
+     */
+    private void calibrate() {
+        int[] points = randomPoints(new Random(0), CALIBRATION_POINTS);
+        double steps = (double) CALIBRATION_POINTS * (radixPasses(CALIBRATION_RANGE - 1) + 1);
+
+        curveNanos = fastestRun(() -> new NearestNeighborSpaceFillingCurve(0, CALIBRATION_RANGE - 1, points[0],
+                points)) / steps;
+
+        logger.info("Calibrated cost model. " + getCostModel());
+    }
+
+    /**
+     * Private method that solves a board several times and returns the fastest execution time.
+     * Each run includes instantiating the algorithm, which is where the board is sorted.
+     * @param algorithms Supplier&lt;NearestNeighborAlgorithm&gt; supplies a new algorithm object
+     *                   for the same board on each run
+     * @return double fastest execution time in nanoseconds
+     */
+    private double fastestRun(Supplier<NearestNeighborAlgorithm> algorithms) {
+        long fastest = Long.MAX_VALUE;
+        for(int i = 0; i < CALIBRATION_RUNS; i++) {
+            long start = System.nanoTime();
+            NearestNeighborAlgorithm algorithm = algorithms.get();
+            algorithm.getSolution();
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        return fastest;
+    }
+
+    /**
+     * Private method that returns distinct random points between 0 and CALIBRATION_RANGE - 1
+     * @param random Random random number generator
+     * @param count int number of points
+     * @return int[] points
+     */
+    private int[] randomPoints(Random random, int count) {
+        boolean[] taken = new boolean[CALIBRATION_RANGE];
+        int[] points = new int[count];
+        int found = 0;
+        while(found < count) {
+            int point = random.nextInt(CALIBRATION_RANGE);
+            if(!taken[point]) {
+                taken[point] = true;
+                points[found++] = point;
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Private static method that returns the number of radix sort passes Board needs for
+     * the given largest offset from the lowest point, one for each byte of the offset
+     * @param largestOffset long the highest point minus the lowest point
+     * @return int number of passes, at least 1
+     */
+    private static int radixPasses(long largestOffset) {
+        int bits = Long.SIZE - Long.numberOfLeadingZeros(largestOffset);
+        return Math.max(1, (bits + 7) / 8);
+    }
+}
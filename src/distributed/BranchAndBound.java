@@ -0,0 +1,233 @@
+package distributed;
+
+import algorithm.Board;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Branch-and-bound search over the same tree of orderings as NearestNeighborPermutation,
+ * restricted to the orderings that start with a given prefix.
+ *
+ * A branch is cut off as soon as it can't beat the best tour found so far by any worker.
+ * Since the distance is a metric, a path that ends at point c and still has to visit
+ * point u before returning to the initial point is at least as long as
+ *
+ *      length so far + distance(c, u) + distance(u, initial point)
+ *
+ * and the largest of these over the unvisited points is the lower bound of the branch.
+ *
+ * The search is depth first with an explicit stack, so the unexplored siblings on each
+ * level are known at any time. When asked to share its work, the search hands out the
+ * unexplored siblings on its shallowest open level as new prefixes and carries on with
+ * the branch it is in.
+ */
+final class BranchAndBound {
+
+    /**
+     * Listener receives the results of a search
+     */
+    interface Listener {
+
+        /**
+         * Called when the search finds a tour shorter than the best one so far
+         * @param length long total distance of the tour
+         * @param path int[] indices of the points in the order they are visited, without
+         *             the return to the initial point
+         */
+        void improved(long length, int[] path);
+
+        /**
+         * Called regularly to check whether the search should give away part of its work
+         * @return boolean true if the search should give away part of its work
+         */
+        boolean shouldDonate();
+
+        /**
+         * Called with the prefixes the search gives away after shouldDonate() returned true.
+         * The list is empty if the search has nothing left to give away.
+         * @param prefixes ArrayList&lt;int[]&gt; prefixes of unexplored branches
+         */
+        void donate(ArrayList<int[]> prefixes);
+    }
+
+    /**
+     * Private constant
+     * CHECK_INTERVAL: Number of steps between two calls to Listener.shouldDonate(). Must be a power of two.
+     */
+    private static final int CHECK_INTERVAL = 1024;
+
+    /**
+     * Private member variables
+     * size: Number of points, including the initial point
+     * initialIndex: Index of the initial point
+     * distances: Distances between the points
+     * bound: Length of the best tour found so far by any worker
+     * path: Indices of the points on the current branch
+     * lengths: Length of the current branch up to and including each level
+     * nextChild: The next point to try on each level
+     */
+    private final int size;
+    private final int initialIndex;
+    private final int[][] distances;
+    private final AtomicLong bound;
+    private final int[] path;
+    private final long[] lengths;
+    private final int[] nextChild;
+
+    /**
+     * Package-private constructor
+     * @param board Board the board to search
+     * @param bound AtomicLong length of the best tour found so far by any worker
+     */
+    BranchAndBound(Board board, AtomicLong bound) {
+        this.size = board.getSize();
+        this.bound = bound;
+        this.distances = new int[size][size];
+
+        int index = 0;
+        for(int i = 0; i < size; i++) {
+            if(board.getPoint(i) == board.getInitialPoint()) {
+                index = i;
+            }
+            for(int j = 0; j < size; j++) {
+                distances[i][j] = board.getShortestDistanceBetween(board.getPoint(i), board.getPoint(j));
+            }
+        }
+        this.initialIndex = index;
+
+        this.path = new int[size];
+        this.lengths = new long[size];
+        this.nextChild = new int[size];
+    }
+
+    /**
+     * Package-private method that searches every ordering that starts with the given prefix
+     * @param prefix int[] indices of the first points of the tour, starting with the initial point
+     * @param listener Listener receives the results of the search
+     */
+    void search(int[] prefix, Listener listener) {
+        final int floor = prefix.length;
+        long visited = 0;
+
+        for(int i = 0; i < floor; i++) {
+            path[i] = prefix[i];
+            visited |= 1L << prefix[i];
+            lengths[i] = i == 0 ? 0 : lengths[i - 1] + distances[prefix[i - 1]][prefix[i]];
+        }
+
+        if(floor == size) {
+            complete(lengths[size - 1] + distances[path[size - 1]][initialIndex], listener);
+            return;
+        }
+
+        int depth = floor;
+        nextChild[depth] = 0;
+        int steps = 0;
+
+        while(depth >= floor) {
+            if((++steps & (CHECK_INTERVAL - 1)) == 0 && listener.shouldDonate()) {
+                listener.donate(donate(floor, depth));
+            }
+
+            // Find the next point on this level whose branch could still beat the best tour
+            final int last = path[depth - 1];
+            final long best = bound.get();
+            int child = -1;
+            for(int c = nextChild[depth]; c < size; c++) {
+                if((visited & (1L << c)) == 0
+                        && lowerBound(c, lengths[depth - 1] + distances[last][c], visited | (1L << c)) < best) {
+                    child = c;
+                    break;
+                }
+            }
+
+            if(child < 0) {
+                // This level is exhausted, so go back to the previous one
+                depth--;
+                if(depth >= floor) {
+                    visited &= ~(1L << path[depth]);
+                }
+                continue;
+            }
+
+            nextChild[depth] = child + 1;
+            path[depth] = child;
+            lengths[depth] = lengths[depth - 1] + distances[last][child];
+
+            if(depth + 1 == size) {
+                complete(lengths[depth] + distances[child][initialIndex], listener);
+            } else {
+                visited |= 1L << child;
+                depth++;
+                nextChild[depth] = 0;
+            }
+        }
+    }
+
+    /**
+     * Private method that returns a lower bound on the length of any tour on a branch
+     * @param last int index of the last point of the branch
+     * @param length long length of the branch
+     * @param visited long bit set of the points on the branch
+     * @return long lower bound on the length of the tour
+     */
+    private long lowerBound(int last, long length, long visited) {
+        int remaining = distances[last][initialIndex];
+        for(int u = 0; u < size; u++) {
+            if((visited & (1L << u)) == 0) {
+                remaining = Math.max(remaining, distances[last][u] + distances[u][initialIndex]);
+            }
+        }
+        return length + remaining;
+    }
+
+    /**
+     * Private method that records a complete tour if it is the shortest so far
+     * @param length long total distance of the tour
+     * @param listener Listener receives the tour if it is the shortest so far
+     */
+    private void complete(long length, Listener listener) {
+        long best = bound.get();
+        while(length < best) {
+            if(bound.compareAndSet(best, length)) {
+                listener.improved(length, path.clone());
+                return;
+            }
+            best = bound.get();
+        }
+    }
+
+    /**
+     * Private method that gives away the unexplored siblings on the shallowest level that has any
+     * @param floor int the first level this search owns
+     * @param depth int the level the search is on
+     * @return ArrayList&lt;int[]&gt; prefixes of the unexplored branches, empty if there are none
+     */
+    private ArrayList<int[]> donate(int floor, int depth) {
+        ArrayList<int[]> prefixes = new ArrayList<> ();
+        long visited = 0;
+        for(int i = 0; i < floor; i++) {
+            visited |= 1L << path[i];
+        }
+
+        for(int level = floor; level <= depth && prefixes.isEmpty(); level++) {
+            for(int c = nextChild[level]; c < size; c++) {
+                if((visited & (1L << c)) == 0) {
+                    int[] prefix = new int[level + 1];
+                    System.arraycopy(path, 0, prefix, 0, level);
+                    prefix[level] = c;
+                    prefixes.add(prefix);
+                }
+            }
+
+            if(!prefixes.isEmpty()) {
+                nextChild[level] = size;
+            }
+            if(level < depth) {
+                visited |= 1L << path[level];
+            }
+        }
+        return prefixes;
+    }
+}
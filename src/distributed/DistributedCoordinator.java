@@ -0,0 +1,528 @@
+package distributed;
+
+import algorithm.Board;
+import algorithm.HeuristicTourSolver;
+import algorithm.TourSolver;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Distributed Branch-and-Bound
+ * Finds the shortest possible tour like NearestNeighborPermutation, but splits the tree
+ * of orderings into subproblems and hands them out to DistributedWorker processes over
+ * plain sockets.
+ *
+ * For each board, the coordinator
+ *
+ *      1. takes the tour from HeuristicTourSolver as the first bound,
+ *      2. splits the tree into subproblems by fixing the first few points of the tour
+ *         until there are TASKS_PER_WORKER subproblems for each worker,
+ *      3. hands out one subproblem at a time to each idle worker,
+ *      4. passes every shorter tour a worker finds on to all workers as the new bound,
+ *         so each of them prunes with the best tour found anywhere, and
+ *      5. once it runs out of subproblems, asks busy workers to give away the unexplored
+ *         branches of their subproblem, which are then handed to the idle workers.
+ *
+ * The board is solved once every worker is idle and no subproblem is left. If a worker
+ * disconnects, or sends nothing for Protocol.TIMEOUT_MILLIS even though workers send a
+ * heartbeat every Protocol.HEARTBEAT_MILLIS, what is left of its subproblem, without the
+ * branches it gave away, is handed to another worker. A worker that had nothing left to
+ * give isn't asked again until it starts its next subproblem.
+ *
+ * The coordinator solves one board at a time, so solve() is synchronized. It is meant
+ * to be shared by the threads of a BoardPipeline with any number of solver threads.
+ */
+public class DistributedCoordinator implements TourSolver, AutoCloseable {
+
+    /**
+     * Public constants
+     * TASKS_PER_WORKER: Number of subproblems per worker the tree is split into up front
+     * MAX_POINTS: The largest number of points, including the initial point, the search supports
+     */
+    public static final int TASKS_PER_WORKER = 8;
+    public static final int MAX_POINTS = Long.SIZE - 1;
+
+    /**
+     * Private constant
+     * DISCONNECTED: Event type for a worker whose connection has been closed
+     */
+    private static final byte DISCONNECTED = -1;
+
+    /**
+     * Private member variables
+     * serverSocket: The socket the workers connect to
+     * workers: Connections to the workers
+     * events: Messages from all workers, in the order they were received
+     * heuristic: Solver for the first bound
+     * boardId: Id of the board being solved
+     */
+    private final ServerSocket serverSocket;
+    private final ArrayList<Worker> workers = new ArrayList<> ();
+    private final BlockingQueue<Event> events = new LinkedBlockingQueue<> ();
+    private final TourSolver heuristic = new HeuristicTourSolver();
+    private int boardId = 0;
+
+    /**
+     * Constructor. Waits until the given number of workers have connected.
+     * @param port int port to listen on
+     * @param workerCount int number of workers to wait for
+     * @throws IOException if the port can't be opened or a worker can't be accepted
+     */
+    public DistributedCoordinator(int port, int workerCount) throws IOException {
+        if(workerCount < 1) {
+            throw new IllegalArgumentException("The number of workers must be at least 1.");
+        }
+
+        serverSocket = new ServerSocket(port);
+        try {
+            for(int i = 0; i < workerCount; i++) {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                socket.setSoTimeout(Protocol.TIMEOUT_MILLIS);
+
+                Worker worker = new Worker(socket);
+                workers.add(worker);
+
+                Thread reader = new Thread(() -> read(worker), "coordinator-reader-" + i);
+                reader.setDaemon(true);
+                reader.start();
+            }
+        } catch(IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Implement solve method to find the shortest possible tour with the workers
+     * @param board Board the board to solve
+     * @param tour int[] array of at least board.getSize() + 1 elements that receives the tour
+     * @return long total distance of the tour
+     * @throws IllegalArgumentException if the board has an input error, the array is too small
+     *                                  or the board has more than MAX_POINTS points
+     * @throws IllegalStateException if every worker has disconnected
+     */
+    @Override
+    public synchronized long solve(Board board, int[] tour) {
+        // The heuristic also checks the arguments
+        long bestLength = heuristic.solve(board, tour);
+
+        final int size = board.getSize();
+        if(size > MAX_POINTS) {
+            throw new IllegalArgumentException("The distributed search can't handle more than "
+                    + MAX_POINTS + " points.");
+        }
+        if(size <= 3) {
+            // Every tour of three points or fewer has the same length
+            return bestLength;
+        }
+
+        // Keep the best tour as indices into the sorted points of the board
+        int[] points = new int[size];
+        for(int i = 0; i < size; i++) {
+            points[i] = board.getPoint(i);
+        }
+        int[] bestPath = new int[size];
+        for(int i = 0; i < size; i++) {
+            bestPath[i] = Arrays.binarySearch(points, tour[i]);
+        }
+
+        boardId++;
+        for(Worker worker : workers) {
+            if(worker.alive) {
+                worker.send(Protocol.BOARD, boardId, board, points, 0);
+                worker.send(Protocol.BOUND, boardId, null, null, bestLength);
+            }
+        }
+
+        ArrayDeque<int[]> tasks = split(bestPath[0], size);
+
+        try {
+            while(true) {
+                dispatch(tasks);
+
+                boolean busy = false;
+                for(Worker worker : workers) {
+                    busy |= worker.alive && worker.task != null;
+                }
+                if(!busy && tasks.isEmpty()) {
+                    break;
+                }
+
+                Event event = events.take();
+                Worker worker = event.worker;
+
+                if(event.type == DISCONNECTED) {
+                    if(worker.task != null) {
+                        requeue(worker.task, worker.donated, size, tasks);
+                        worker.task = null;
+                    }
+                    continue;
+                }
+                if(event.boardId != boardId) {
+                    continue;
+                }
+
+                if(event.type == Protocol.IMPROVED) {
+                    if(event.length < bestLength) {
+                        bestLength = event.length;
+                        bestPath = event.ints.get(0);
+                        for(Worker other : workers) {
+                            if(other.alive && other != worker) {
+                                other.send(Protocol.BOUND, boardId, null, null, bestLength);
+                            }
+                        }
+                    }
+                } else if(event.type == Protocol.DONATE) {
+                    worker.stealPending = false;
+                    tasks.addAll(event.ints);
+                    worker.donated.addAll(event.ints);
+
+                    // A worker with nothing left to give isn't asked again until its next subproblem
+                    worker.exhausted = event.ints.isEmpty();
+                } else if(event.type == Protocol.IDLE) {
+                    worker.stealPending = false;
+                    worker.task = null;
+                }
+            }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while solving the board.", e);
+        }
+
+        for(int i = 0; i < size; i++) {
+            tour[i] = points[bestPath[i]];
+        }
+        tour[size] = board.getInitialPoint();
+        return bestLength;
+    }
+
+    /**
+     * Public method that returns the number of workers that are still connected
+     * @return int number of connected workers
+     */
+    public int getWorkerCount() {
+        int count = 0;
+        for(Worker worker : workers) {
+            if(worker.alive) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Tells the workers to shut down and closes the connections
+     */
+    @Override
+    public void close() {
+        for(Worker worker : workers) {
+            if(worker.alive) {
+                worker.send(Protocol.SHUTDOWN, boardId, null, null, 0);
+            }
+            worker.close();
+        }
+
+        try {
+            serverSocket.close();
+        } catch(IOException e) {
+            // Nothing left to release
+        }
+    }
+
+    /**
+     * Private method that splits the tree of orderings into subproblems by fixing
+     * more and more of the first points of the tour
+     * @param initialIndex int index of the initial point
+     * @param size int number of points
+     * @return ArrayDeque&lt;int[]&gt; prefixes of the subproblems
+     */
+    private ArrayDeque<int[]> split(int initialIndex, int size) {
+        ArrayDeque<int[]> tasks = new ArrayDeque<> ();
+        tasks.add(new int[] {initialIndex});
+
+        final int target = TASKS_PER_WORKER * Math.max(1, getWorkerCount());
+        while(tasks.size() < target && tasks.peek().length < size - 1) {
+            int[] prefix = tasks.poll();
+            long visited = 0;
+            for(int index : prefix) {
+                visited |= 1L << index;
+            }
+
+            for(int c = 0; c < size; c++) {
+                if((visited & (1L << c)) == 0) {
+                    int[] child = Arrays.copyOf(prefix, prefix.length + 1);
+                    child[prefix.length] = c;
+                    tasks.add(child);
+                }
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Private method that hands out subproblems to the idle workers. If there are idle workers
+     * left when the subproblems run out, as many busy workers are asked to share their work.
+     * @param tasks ArrayDeque&lt;int[]&gt; prefixes of the subproblems
+     * @throws IllegalStateException if every worker has disconnected
+     */
+    private void dispatch(ArrayDeque<int[]> tasks) {
+        int idle = 0;
+        for(Worker worker : workers) {
+            if(!worker.alive || worker.task != null) {
+                continue;
+            }
+
+            if(tasks.isEmpty()) {
+                idle++;
+            } else {
+                int[] task = tasks.poll();
+                if(worker.send(Protocol.TASK, boardId, null, task, 0)) {
+                    worker.task = task;
+                    worker.donated.clear();
+                    worker.exhausted = false;
+                } else {
+                    // The subproblem goes to another worker
+                    tasks.addFirst(task);
+                }
+            }
+        }
+
+        if(getWorkerCount() == 0) {
+            throw new IllegalStateException("Every worker has disconnected.");
+        }
+
+        for(Worker worker : workers) {
+            if(idle == 0) {
+                break;
+            }
+            if(worker.alive && worker.task != null && !worker.stealPending && !worker.exhausted) {
+                if(worker.send(Protocol.STEAL, boardId, null, null, 0)) {
+                    worker.stealPending = true;
+                    idle--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Private method that queues what is left of the subproblem of a disconnected worker.
+     * The branches the worker gave away are being searched by other workers, so the
+     * subproblem is split around them instead of being queued as a whole.
+     * @param prefix int[] prefix of the subproblem
+     * @param donated ArrayList&lt;int[]&gt; prefixes the worker gave away from the subproblem
+     * @param size int number of points
+     * @param tasks ArrayDeque&lt;int[]&gt; prefixes of the subproblems
+     */
+    private void requeue(int[] prefix, ArrayList<int[]> donated, int size, ArrayDeque<int[]> tasks) {
+        boolean split = false;
+        for(int[] branch : donated) {
+            if(startsWith(branch, prefix)) {
+                if(branch.length == prefix.length) {
+                    // The whole branch has been given away
+                    return;
+                }
+                split = true;
+            }
+        }
+
+        if(!split) {
+            tasks.add(prefix);
+            return;
+        }
+
+        long visited = 0;
+        for(int index : prefix) {
+            visited |= 1L << index;
+        }
+        for(int c = 0; c < size; c++) {
+            if((visited & (1L << c)) == 0) {
+                int[] child = Arrays.copyOf(prefix, prefix.length + 1);
+                child[prefix.length] = c;
+                requeue(child, donated, size, tasks);
+            }
+        }
+    }
+
+    /**
+     * Private static method that tells whether a prefix starts with another one
+     * @param prefix int[] the prefix to check
+     * @param start int[] the start to look for
+     * @return boolean true if prefix starts with start, otherwise false
+     */
+    private static boolean startsWith(int[] prefix, int[] start) {
+        if(prefix.length < start.length) {
+            return false;
+        }
+        for(int i = 0; i < start.length; i++) {
+            if(prefix[i] != start[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Private method for the reader thread of a worker. However the thread ends, including
+     * a read timeout, the worker is reported as disconnected so solve() never waits for it.
+     * @param worker Worker the worker to read from
+     */
+    private void read(Worker worker) {
+        try {
+            while(true) {
+                byte type = worker.in.readByte();
+                int id = worker.in.readInt();
+                if(type == Protocol.HEARTBEAT) {
+                    continue;
+                }
+
+                Event event = new Event(worker, type, id);
+                if(type == Protocol.IMPROVED) {
+                    event.length = worker.in.readLong();
+                    event.ints.add(Protocol.readInts(worker.in));
+                } else if(type == Protocol.DONATE) {
+                    int count = Protocol.readLength(worker.in);
+                    for(int i = 0; i < count; i++) {
+                        event.ints.add(Protocol.readInts(worker.in));
+                    }
+                } else if(type != Protocol.IDLE) {
+                    throw new IOException("Unknown message type " + type);
+                }
+                events.put(event);
+            }
+        } catch(IOException | InterruptedException e) {
+            // The worker is gone or has been silent for too long
+        } finally {
+            worker.close();
+            events.add(new Event(worker, DISCONNECTED, -1));
+        }
+    }
+
+    /**
+     * Worker is the connection to one worker process
+     */
+    private static class Worker {
+
+        /**
+         * Private member variables
+         * socket: The socket of the connection
+         * in: Stream from the worker, only read by the reader thread
+         * out: Stream to the worker
+         * alive: Flag that is cleared once the connection has been closed
+         * task: Prefix of the subproblem the worker is searching, or null if the worker is idle
+         * stealPending: Flag raised while the worker has been asked to share its work
+         * exhausted: Flag raised when the worker had nothing left to share of its subproblem
+         * donated: Prefixes the worker has given away from its subproblem
+         */
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+        private volatile boolean alive = true;
+        private int[] task = null;
+        private boolean stealPending = false;
+        private boolean exhausted = false;
+        private final ArrayList<int[]> donated = new ArrayList<> ();
+
+        /**
+         * Private constructor
+         * @param socket Socket the connected socket
+         * @throws IOException if the streams of the socket can't be opened
+         */
+        private Worker(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        /**
+         * Private method that sends a message to the worker. If the message can't be sent,
+         * the connection is closed and the reader thread reports the worker as disconnected.
+         * @param type byte message type
+         * @param boardId int id of the board
+         * @param board Board the board for BOARD
+         * @param ints int[] points for BOARD or prefix for TASK
+         * @param length long bound for BOUND
+         * @return boolean true if the message has been sent
+         */
+        private synchronized boolean send(byte type, int boardId, Board board, int[] ints, long length) {
+            if(!alive) {
+                return false;
+            }
+
+            try {
+                out.writeByte(type);
+                out.writeInt(boardId);
+                if(type == Protocol.BOARD) {
+                    out.writeInt(board.getLowest());
+                    out.writeInt(board.getHighest());
+                    out.writeInt(board.getInitialPoint());
+                    Protocol.writeInts(out, ints, ints.length);
+                } else if(type == Protocol.TASK) {
+                    Protocol.writeInts(out, ints, ints.length);
+                } else if(type == Protocol.BOUND) {
+                    out.writeLong(length);
+                }
+                out.flush();
+                return true;
+            } catch(IOException e) {
+                close();
+                return false;
+            }
+        }
+
+        /**
+         * Private method that closes the connection
+         */
+        private void close() {
+            alive = false;
+            try {
+                socket.close();
+            } catch(IOException e) {
+                // Nothing left to release
+            }
+        }
+    }
+
+    /**
+     * Event is a message from a worker
+     */
+    private static class Event {
+
+        /**
+         * Private member variables
+         * worker: The worker that sent the message
+         * type: Message type
+         * boardId: Id of the board the message belongs to
+         * length: Tour length for IMPROVED
+         * ints: The tour for IMPROVED or the prefixes for DONATE
+         */
+        private final Worker worker;
+        private final byte type;
+        private final int boardId;
+        private long length = 0;
+        private final ArrayList<int[]> ints = new ArrayList<> ();
+
+        /**
+         * Private constructor
+         * @param worker Worker the worker that sent the message
+         * @param type byte message type
+         * @param boardId int id of the board the message belongs to
+         */
+        private Event(Worker worker, byte type, int boardId) {
+            this.worker = worker;
+            this.type = type;
+            this.boardId = boardId;
+        }
+    }
+}
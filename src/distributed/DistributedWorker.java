@@ -0,0 +1,295 @@
+package distributed;
+
+import algorithm.Board;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DistributedWorker connects to a DistributedCoordinator and searches the subproblems
+ * it is handed until the coordinator shuts down.
+ *
+ * A reader thread receives the messages from the coordinator. Boards and subproblems
+ * are queued for the search, which runs on the thread that called run(). Tighter bounds
+ * and requests to share work are applied to the running search right away: the bound is
+ * shared with the search through an AtomicLong and a request to share work is a flag
+ * that the search checks regularly. A heartbeat thread tells the coordinator that the
+ * worker is still alive while it searches a long subproblem without finding a shorter tour.
+ */
+public class DistributedWorker {
+
+    /**
+     * Private constants
+     * CONNECT_ATTEMPTS: Number of times to try to connect before giving up
+     * CONNECT_DELAY_MILLIS: Time to wait between two attempts to connect
+     * END_OF_STREAM: Marker that is queued when the coordinator shuts down or disconnects
+     */
+    private static final int CONNECT_ATTEMPTS = 50;
+    private static final long CONNECT_DELAY_MILLIS = 200;
+    private static final Object END_OF_STREAM = new Object();
+
+    /**
+     * Private member variables
+     * host: Host name of the coordinator
+     * port: Port of the coordinator
+     * out: Stream to the coordinator. Writes are synchronized on it.
+     * stealBoardId: Id of the board the coordinator wants a share of work for, or -1
+     */
+    private final String host;
+    private final int port;
+    private DataOutputStream out = null;
+    private volatile int stealBoardId = -1;
+
+    /**
+     * Constructor
+     * @param host String host name of the coordinator
+     * @param port int port of the coordinator
+     */
+    public DistributedWorker(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * Public method that connects to the coordinator and serves it until it shuts down.
+     * The coordinator may be started after the worker, so connecting is retried for a while.
+     * @throws IOException if the coordinator can't be reached or the connection fails
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public void run() throws IOException, InterruptedException {
+        try(Socket socket = connect()) {
+            socket.setTcpNoDelay(true);
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            final BlockingQueue<Object> work = new LinkedBlockingQueue<> ();
+
+            Thread reader = new Thread(() -> read(in, work), "worker-reader");
+            reader.setDaemon(true);
+            reader.start();
+
+            Thread heartbeat = new Thread(this::heartbeat, "worker-heartbeat");
+            heartbeat.setDaemon(true);
+            heartbeat.start();
+
+            try {
+                search(work);
+            } catch(UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Private method that connects to the coordinator, retrying while it isn't listening yet
+     * @return Socket the connected socket
+     * @throws IOException if the coordinator can't be reached
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    private Socket connect() throws IOException, InterruptedException {
+        for(int attempt = 1; ; attempt++) {
+            try {
+                return new Socket(host, port);
+            } catch(ConnectException e) {
+                if(attempt == CONNECT_ATTEMPTS) {
+                    throw e;
+                }
+                Thread.sleep(CONNECT_DELAY_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Private method for the reader thread
+     * @param in DataInputStream stream from the coordinator
+     * @param work BlockingQueue&lt;Object&gt; queue of boards and subproblems for the search
+     */
+    private void read(DataInputStream in, BlockingQueue<Object> work) {
+        int boardId = -1;
+        AtomicLong bound = null;
+
+        try {
+            while(true) {
+                byte type = in.readByte();
+                int id = in.readInt();
+
+                if(type == Protocol.BOARD) {
+                    int lowest = in.readInt();
+                    int highest = in.readInt();
+                    int initialPoint = in.readInt();
+                    int[] points = Protocol.readInts(in);
+
+                    boardId = id;
+                    bound = new AtomicLong(Long.MAX_VALUE);
+                    stealBoardId = -1;
+                    work.put(new Job(id, new Board(lowest, highest, initialPoint, points), bound));
+                } else if(type == Protocol.TASK) {
+                    work.put(Protocol.readInts(in));
+                } else if(type == Protocol.BOUND) {
+                    long length = in.readLong();
+                    if(id == boardId) {
+                        lowerBound(bound, length);
+                    }
+                } else if(type == Protocol.STEAL) {
+                    if(id == boardId) {
+                        stealBoardId = id;
+                    }
+                } else if(type == Protocol.SHUTDOWN) {
+                    break;
+                } else {
+                    throw new IOException("Unknown message type " + type);
+                }
+            }
+        } catch(EOFException e) {
+            // The coordinator closed the connection
+        } catch(IOException | InterruptedException e) {
+            // Stop serving the coordinator
+        }
+
+        try {
+            work.put(END_OF_STREAM);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Private method for the heartbeat thread. It stops once the connection is closed.
+     */
+    private void heartbeat() {
+        try {
+            while(true) {
+                Thread.sleep(Protocol.HEARTBEAT_MILLIS);
+                send(Protocol.HEARTBEAT, 0, 0, null, null);
+            }
+        } catch(InterruptedException | UncheckedIOException e) {
+            // The connection is closed
+        }
+    }
+
+    /**
+     * Private method that runs the subproblems in the queue until the coordinator shuts down
+     * @param work BlockingQueue&lt;Object&gt; queue of boards and subproblems
+     * @throws IOException if the connection fails
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    private void search(BlockingQueue<Object> work) throws IOException, InterruptedException {
+        Job job = null;
+
+        Object item;
+        while((item = work.take()) != END_OF_STREAM) {
+            if(item instanceof Job) {
+                job = (Job) item;
+                continue;
+            }
+            if(job == null) {
+                throw new IOException("Received a subproblem before a board.");
+            }
+
+            final Job current = job;
+            current.search.search((int[]) item, new BranchAndBound.Listener() {
+                @Override
+                public void improved(long length, int[] path) {
+                    send(Protocol.IMPROVED, current.id, length, path, null);
+                }
+
+                @Override
+                public boolean shouldDonate() {
+                    if(stealBoardId == current.id) {
+                        stealBoardId = -1;
+                        return true;
+                    }
+                    return false;
+                }
+
+                @Override
+                public void donate(ArrayList<int[]> prefixes) {
+                    send(Protocol.DONATE, current.id, 0, null, prefixes);
+                }
+            });
+
+            // A request to share work that came in too late for this subproblem is answered by IDLE
+            if(stealBoardId == current.id) {
+                stealBoardId = -1;
+            }
+            send(Protocol.IDLE, current.id, 0, null, null);
+        }
+    }
+
+    /**
+     * Private method that sends a message to the coordinator
+     * @param type byte message type
+     * @param boardId int id of the board
+     * @param length long tour length for IMPROVED
+     * @param path int[] tour for IMPROVED
+     * @param prefixes ArrayList&lt;int[]&gt; prefixes for DONATE
+     * @throws UncheckedIOException if the message can't be sent
+     */
+    private void send(byte type, int boardId, long length, int[] path, ArrayList<int[]> prefixes) {
+        synchronized(out) {
+            try {
+                out.writeByte(type);
+                out.writeInt(boardId);
+                if(type == Protocol.IMPROVED) {
+                    out.writeLong(length);
+                    Protocol.writeInts(out, path, path.length);
+                } else if(type == Protocol.DONATE) {
+                    out.writeInt(prefixes.size());
+                    for(int[] prefix : prefixes) {
+                        Protocol.writeInts(out, prefix, prefix.length);
+                    }
+                }
+                out.flush();
+            } catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Private static method that lowers the bound to the given length if it is shorter
+     * @param bound AtomicLong the bound
+     * @param length long the new length
+     */
+    private static void lowerBound(AtomicLong bound, long length) {
+        long current = bound.get();
+        while(length < current && !bound.compareAndSet(current, length)) {
+            current = bound.get();
+        }
+    }
+
+    /**
+     * Job is a board together with its search and bound
+     */
+    private static class Job {
+
+        /**
+         * Private member variables
+         * id: Id of the board
+         * search: The search for the board
+         */
+        private final int id;
+        private final BranchAndBound search;
+
+        /**
+         * Private constructor
+         * @param id int id of the board
+         * @param board Board the board
+         * @param bound AtomicLong length of the best tour found so far by any worker
+         */
+        private Job(int id, Board board, AtomicLong bound) {
+            this.id = id;
+            this.search = new BranchAndBound(board, bound);
+        }
+    }
+}
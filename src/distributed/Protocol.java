@@ -0,0 +1,102 @@
+package distributed;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Protocol defines the messages exchanged between DistributedCoordinator and
+ * DistributedWorker over a plain socket.
+ *
+ * Every message starts with a one byte type followed by the id of the board it belongs
+ * to, so a message that arrives after its board has been solved can be told apart and
+ * ignored. Subproblems are prefixes of the tour, given as indices into the sorted points
+ * of the board and always starting with the index of the initial point.
+ *
+ * Coordinator to worker:
+ *      BOARD       board id, lowest, highest, initial point, points
+ *      TASK        board id, prefix
+ *      BOUND       board id, length of the best tour found so far
+ *      STEAL       board id
+ *      SHUTDOWN    board id (ignored)
+ *
+ * Worker to coordinator:
+ *      IDLE        board id
+ *      IMPROVED    board id, tour length, tour without the return to the initial point
+ *      DONATE      board id, number of prefixes, prefixes
+ *      HEARTBEAT   board id (ignored), sent every HEARTBEAT_MILLIS
+ *
+ * No array in a message is longer than DistributedCoordinator.MAX_POINTS, so a longer
+ * array is rejected as a broken stream before anything is allocated for it.
+ */
+final class Protocol {
+
+    /**
+     * Package-private constants for the message types
+     */
+    static final byte BOARD = 1;
+    static final byte TASK = 2;
+    static final byte BOUND = 3;
+    static final byte STEAL = 4;
+    static final byte SHUTDOWN = 5;
+    static final byte IDLE = 10;
+    static final byte IMPROVED = 11;
+    static final byte DONATE = 12;
+    static final byte HEARTBEAT = 13;
+
+    /**
+     * Package-private constants
+     * HEARTBEAT_MILLIS: Time between two HEARTBEAT messages from a worker
+     * TIMEOUT_MILLIS: Time without any message after which the coordinator gives up on a worker
+     */
+    static final long HEARTBEAT_MILLIS = 1000;
+    static final int TIMEOUT_MILLIS = 10000;
+
+    /**
+     * Private constructor. This class only has static members.
+     */
+    private Protocol() { }
+
+    /**
+     * Package-private static method that writes a length-prefixed array of ints
+     * @param out DataOutputStream the stream to write to
+     * @param values int[] values to write
+     * @param length int number of values to write
+     * @throws IOException if the stream can't be written
+     */
+    static void writeInts(DataOutputStream out, int[] values, int length) throws IOException {
+        out.writeInt(length);
+        for(int i = 0; i < length; i++) {
+            out.writeInt(values[i]);
+        }
+    }
+
+    /**
+     * Package-private static method that reads a length-prefixed array of ints
+     * @param in DataInputStream the stream to read from
+     * @return int[] the values
+     * @throws IOException if the stream can't be read or the length is invalid
+     */
+    static int[] readInts(DataInputStream in) throws IOException {
+        int length = readLength(in);
+        int[] values = new int[length];
+        for(int i = 0; i < length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    /**
+     * Package-private static method that reads the length of an array
+     * @param in DataInputStream the stream to read from
+     * @return int the length, between 0 and DistributedCoordinator.MAX_POINTS
+     * @throws IOException if the stream can't be read or the length is invalid
+     */
+    static int readLength(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if(length < 0 || length > DistributedCoordinator.MAX_POINTS) {
+            throw new IOException("Invalid array length " + length);
+        }
+        return length;
+    }
+}
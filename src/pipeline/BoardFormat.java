@@ -0,0 +1,22 @@
+package pipeline;
+
+/**
+ * Input and output formats understood by the pipeline
+ *
+ * TEXT: The format shown in the README. Each board is a block of lines
+ *
+ *      Lowest Point: -21
+ *      Highest Point: 11
+ *      Initial Point: 0
+ *      Points To Visit: -21 -5 -1 0 1 3 11
+ *
+ *      and a board ends at its Points To Visit line. Blank lines are ignored.
+ *
+ * NDJSON: One JSON object per line
+ *
+ *      {"lowest": -21, "highest": 11, "initialPoint": 0, "points": [-21, -5, -1, 0, 1, 3, 11]}
+ */
+public enum BoardFormat {
+    TEXT,
+    NDJSON
+}
@@ -0,0 +1,75 @@
+package pipeline;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * BoardParser is an abstract class that will be extended by a parser for an
+ * actual input format.
+ *
+ * A parser reads one board at a time from the underlying reader so that the
+ * input can be of any size. A board that can't be parsed is still returned,
+ * with its error flag raised, so the caller can report it and move on to the
+ * next board.
+ */
+abstract class BoardParser {
+
+    /**
+     * Package-private member variables
+     * reader: The reader that supplies the input stream
+     * sequence: Position of the next board in the input stream
+     */
+    final BufferedReader reader;
+    long sequence = 0;
+
+    /**
+     * Constructor
+     * @param reader BufferedReader the reader that supplies the input stream
+     */
+    BoardParser(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Package-private static method that returns the parser for the given format
+     * @param format BoardFormat input format
+     * @param reader BufferedReader the reader that supplies the input stream
+     * @return BoardParser parser for the given format
+     */
+    static BoardParser forFormat(BoardFormat format, BufferedReader reader) {
+        if(format == BoardFormat.NDJSON) {
+            return new NdjsonBoardParser(reader);
+        }
+        return new TextBoardParser(reader);
+    }
+
+    /**
+     * Abstract method that will be implemented by concrete parser class
+     * to read the next board from the input stream.
+     *
+     * @return BoardRecord the next board, or null if the input stream is exhausted
+     * @throws IOException if the input stream can't be read
+     */
+    abstract BoardRecord next() throws IOException;
+
+    /**
+     * Generic package-private method that parses a whitespace or comma separated list
+     * of points
+     * @param text String list of points
+     * @return int[] points
+     * @throws NumberFormatException if one of the points is not an integer
+     */
+    int[] parsePoints(String text) {
+        String trimmed = text.trim();
+        if(trimmed.isEmpty()) {
+            return new int[0];
+        }
+
+        String[] tokens = trimmed.split("[\\s,]+");
+        int[] points = new int[tokens.length];
+        for(int i = 0; i < tokens.length; i++) {
+            points[i] = Integer.parseInt(tokens[i]);
+        }
+        return points;
+    }
+}
@@ -0,0 +1,403 @@
+package pipeline;
+
+import algorithm.NearestNeighborAlgorithm;
+import algorithm.NearestNeighborHeldKarp;
+import algorithm.NearestNeighborTourSolver;
+import algorithm.TourSolver;
+import algorithm.TourSolverFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streaming Board Pipeline
+ * Reads an unbounded stream of circuit boards and solves each one of them.
+ *
+ * The work is split into four stages that run concurrently and are connected by
+ * bounded queues:
+ *
+ *      parse -> validate -> solve (one or more threads) -> write
+ *
+ * Every stage blocks when the queue in front of it is full, so a slow stage
+ * throttles the stages before it instead of letting boards pile up in memory.
+ * In addition, the number of boards between the parse stage and the write stage is
+ * capped so the boards that have to wait for an earlier board in ordered mode
+ * can't grow without bound either. The memory footprint therefore only depends on
+ * the queue capacity and the number of solver threads, not on the size of the input.
+ */
+public class BoardPipeline {
+
+    /**
+     * Private member variables
+     * format: Input and output format
+     * solverType: Algorithm that solves each board, or null if tourSolver is set
+     * tourSolver: Solver shared by every board if no solverType is set, otherwise null
+     * solverThreads: Number of threads in the solve stage
+     * queueCapacity: Capacity of each queue between two stages
+     * ordered: If true, boards are written in input order. Otherwise, boards are written
+     *          as soon as they are solved.
+     * budgetMillis: Latency budget per board for TourSolverFactory
+     * memoryLimit: Largest Held-Karp table, in bytes, to allocate in memory. Each solve thread
+     *              may allocate up to this limit at the same time.
+     * scratchDirectory: Directory for the scratch file of larger Held-Karp tables, or null to
+     *                   always allocate in memory
+     * factory: Picks the algorithm for each board if solverType is AUTO, otherwise null
+     * inFlight: Limits the number of boards between the parse stage and the write stage
+     * failure: The first exception or error thrown by one of the background stages
+     */
+    private final BoardFormat format;
+    private final SolverType solverType;
+    private final TourSolver tourSolver;
+    private final int solverThreads;
+    private final int queueCapacity;
+    private final boolean ordered;
+    private final long budgetMillis;
+    private final long memoryLimit;
+    private final File scratchDirectory;
+    private final TourSolverFactory factory;
+    private final Semaphore inFlight;
+    private volatile Throwable failure = null;
+
+    /**
+     * Public constant
+     * DEFAULT_BUDGET_MILLIS: Latency budget per board if none is specified
+     */
+    public static final long DEFAULT_BUDGET_MILLIS = 1000;
+
+    /**
+     * Constructor
+     * @param format BoardFormat input and output format
+     * @param solverType SolverType algorithm that solves each board
+     * @param solverThreads int number of threads in the solve stage
+     * @param queueCapacity int capacity of each queue between two stages
+     * @param ordered boolean true to write boards in input order
+     */
+    public BoardPipeline(BoardFormat format, SolverType solverType, int solverThreads,
+                         int queueCapacity, boolean ordered) {
+        this(format, solverType, solverThreads, queueCapacity, ordered, DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * Constructor. If solverType is AUTO, the cost model of TourSolverFactory is calibrated here.
+     * @param format BoardFormat input and output format
+     * @param solverType SolverType algorithm that solves each board
+     * @param solverThreads int number of threads in the solve stage
+     * @param queueCapacity int capacity of each queue between two stages
+     * @param ordered boolean true to write boards in input order
+     * @param budgetMillis long latency budget per board for AUTO
+     */
+    public BoardPipeline(BoardFormat format, SolverType solverType, int solverThreads,
+                         int queueCapacity, boolean ordered, long budgetMillis) {
+        this(format, solverType, solverThreads, queueCapacity, ordered, budgetMillis,
+                NearestNeighborHeldKarp.DEFAULT_MEMORY_LIMIT, null);
+    }
+
+    /**
+     * Constructor. If solverType is AUTO, the cost model of TourSolverFactory is calibrated here.
+     * @param format BoardFormat input and output format
+     * @param solverType SolverType algorithm that solves each board
+     * @param solverThreads int number of threads in the solve stage
+     * @param queueCapacity int capacity of each queue between two stages
+     * @param ordered boolean true to write boards in input order
+     * @param budgetMillis long latency budget per board for AUTO
+     * @param memoryLimit long largest Held-Karp table, in bytes, to allocate in memory
+     * @param scratchDirectory File directory for the scratch file of larger Held-Karp tables,
+     *                         or null to always allocate in memory
+     */
+    public BoardPipeline(BoardFormat format, SolverType solverType, int solverThreads,
+                         int queueCapacity, boolean ordered, long budgetMillis,
+                         long memoryLimit, File scratchDirectory) {
+        this(format, solverType, null, solverThreads, queueCapacity, ordered, budgetMillis,
+                memoryLimit, scratchDirectory);
+    }
+
+    /**
+     * Constructor for a pipeline that solves every board with the same TourSolver,
+     * for example a DistributedCoordinator
+     * @param format BoardFormat input and output format
+     * @param tourSolver TourSolver solver shared by every board
+     * @param solverThreads int number of threads in the solve stage
+     * @param queueCapacity int capacity of each queue between two stages
+     * @param ordered boolean true to write boards in input order
+     */
+    public BoardPipeline(BoardFormat format, TourSolver tourSolver, int solverThreads,
+                         int queueCapacity, boolean ordered) {
+        this(format, null, tourSolver, solverThreads, queueCapacity, ordered, DEFAULT_BUDGET_MILLIS,
+                NearestNeighborHeldKarp.DEFAULT_MEMORY_LIMIT, null);
+    }
+
+    /**
+     * Private constructor. Exactly one of solverType and tourSolver is set.
+     * @param format BoardFormat input and output format
+     * @param solverType SolverType algorithm that solves each board
+     * @param tourSolver TourSolver solver shared by every board
+     * @param solverThreads int number of threads in the solve stage
+     * @param queueCapacity int capacity of each queue between two stages
+     * @param ordered boolean true to write boards in input order
+     * @param budgetMillis long latency budget per board for AUTO
+     * @param memoryLimit long largest Held-Karp table, in bytes, to allocate in memory
+     * @param scratchDirectory File directory for the scratch file of larger Held-Karp tables,
+     *                         or null to always allocate in memory
+     */
+    private BoardPipeline(BoardFormat format, SolverType solverType, TourSolver tourSolver, int solverThreads,
+                          int queueCapacity, boolean ordered, long budgetMillis,
+                          long memoryLimit, File scratchDirectory) {
+        if(solverType == null && tourSolver == null) {
+            throw new IllegalArgumentException("A solver must be specified.");
+        }
+        if(solverThreads < 1) {
+            throw new IllegalArgumentException("The number of solver threads must be at least 1.");
+        }
+        if(queueCapacity < 1) {
+            throw new IllegalArgumentException("The queue capacity must be at least 1.");
+        }
+
+        this.format = format;
+        this.solverType = solverType;
+        this.tourSolver = tourSolver;
+        this.solverThreads = solverThreads;
+        this.queueCapacity = queueCapacity;
+        this.ordered = ordered;
+        this.budgetMillis = budgetMillis;
+        this.memoryLimit = memoryLimit;
+        this.scratchDirectory = scratchDirectory;
+        this.factory = solverType == SolverType.AUTO ? new TourSolverFactory() : null;
+        this.inFlight = new Semaphore(3 * queueCapacity + solverThreads);
+    }
+
+    /**
+     * Public method that runs the pipeline until the input stream is exhausted.
+     * The write stage runs on the calling thread.
+     *
+     * @param input Reader the input stream
+     * @param output Writer the output stream
+     * @throws IOException if the input stream can't be read or the output stream can't be written
+     * @throws IllegalStateException if one of the background stages failed for any other reason
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public void run(Reader input, Writer output) throws IOException, InterruptedException {
+        final BlockingQueue<BoardRecord> parsedQueue = new ArrayBlockingQueue<> (queueCapacity);
+        final BlockingQueue<BoardRecord> validatedQueue = new ArrayBlockingQueue<> (queueCapacity);
+        final BlockingQueue<BoardRecord> solvedQueue = new ArrayBlockingQueue<> (queueCapacity);
+
+        final BoardParser parser = BoardParser.forFormat(format, new BufferedReader(input));
+        final BoardWriter writer = new BoardWriter(output, format);
+
+        ArrayList<Thread> threads = new ArrayList<> ();
+        threads.add(new Thread(() -> parse(parser, parsedQueue), "pipeline-parse"));
+        threads.add(new Thread(() -> validate(parsedQueue, validatedQueue), "pipeline-validate"));
+
+        // The last solver thread to see the end of the stream passes it on to the write stage
+        final AtomicInteger runningSolvers = new AtomicInteger(solverThreads);
+        for(int i = 0; i < solverThreads; i++) {
+            threads.add(new Thread(() -> solve(validatedQueue, solvedQueue, runningSolvers),
+                    "pipeline-solve-" + i));
+        }
+
+        for(Thread thread : threads) {
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        try {
+            write(solvedQueue, writer);
+        } finally {
+            // Stop the background stages in case the write stage failed
+            for(Thread thread : threads) {
+                thread.interrupt();
+            }
+        }
+
+        for(Thread thread : threads) {
+            thread.join();
+        }
+
+        if(failure instanceof IOException) {
+            throw (IOException) failure;
+        } else if(failure != null) {
+            throw new IllegalStateException(failure);
+        }
+    }
+
+    /**
+     * Private method for the parse stage
+     * @param parser BoardParser parser for the input stream
+     * @param out BlockingQueue&lt;BoardRecord&gt; queue to the validate stage
+     */
+    private void parse(BoardParser parser, BlockingQueue<BoardRecord> out) {
+        try {
+            try {
+                BoardRecord record;
+                while((record = parser.next()) != null) {
+                    inFlight.acquire();
+                    out.put(record);
+                }
+            } catch(InterruptedException e) {
+                throw e;
+            } catch(Throwable e) {
+                // The boards parsed so far are still solved and written
+                fail(e);
+            }
+            out.put(BoardRecord.END_OF_STREAM);
+        } catch(InterruptedException e) {
+            // The pipeline is shutting down
+        }
+    }
+
+    /**
+     * Private method for the validate stage. The algorithm object is instantiated here
+     * since its constructor is what checks the input parameters.
+     * @param in BlockingQueue&lt;BoardRecord&gt; queue from the parse stage
+     * @param out BlockingQueue&lt;BoardRecord&gt; queue to the solve stage
+     */
+    private void validate(BlockingQueue<BoardRecord> in, BlockingQueue<BoardRecord> out) {
+        try {
+            try {
+                validateAll(in, out);
+            } catch(InterruptedException e) {
+                throw e;
+            } catch(Throwable e) {
+                // The boards validated so far are still solved and written
+                fail(e);
+            }
+
+            // Every solver thread needs to see the end of the stream
+            for(int i = 0; i < solverThreads; i++) {
+                out.put(BoardRecord.END_OF_STREAM);
+            }
+        } catch(InterruptedException e) {
+            // The pipeline is shutting down
+        }
+    }
+
+    /**
+     * Private method that validates boards until the end of the stream
+     * @param in BlockingQueue&lt;BoardRecord&gt; queue from the parse stage
+     * @param out BlockingQueue&lt;BoardRecord&gt; queue to the solve stage
+     * @throws InterruptedException if the pipeline is shutting down
+     */
+    private void validateAll(BlockingQueue<BoardRecord> in, BlockingQueue<BoardRecord> out)
+            throws InterruptedException {
+        BoardRecord record;
+        while((record = in.take()) != BoardRecord.END_OF_STREAM) {
+            if(!record.getHasError()) {
+                NearestNeighborAlgorithm algorithm;
+                if(tourSolver != null) {
+                    algorithm = new NearestNeighborTourSolver(record.getLowest(), record.getHighest(),
+                            record.getInitialPoint(), record.getPoints(), tourSolver);
+                } else if(factory != null) {
+                    algorithm = factory.create(record.getLowest(), record.getHighest(),
+                            record.getInitialPoint(), record.getPoints(), budgetMillis);
+                } else {
+                    algorithm = solverType.create(record.getLowest(), record.getHighest(),
+                            record.getInitialPoint(), record.getPoints(), memoryLimit, scratchDirectory);
+                }
+
+                if(algorithm.getHasError()) {
+                    record.setError(algorithm.getErrorMessage());
+                } else {
+                    record.setAlgorithm(algorithm);
+                }
+            }
+            out.put(record);
+        }
+    }
+
+    /**
+     * Private method for the solve stage
+     * @param in BlockingQueue&lt;BoardRecord&gt; queue from the validate stage
+     * @param out BlockingQueue&lt;BoardRecord&gt; queue to the write stage
+     * @param runningSolvers AtomicInteger number of solver threads that haven't seen the end of the stream
+     */
+    private void solve(BlockingQueue<BoardRecord> in, BlockingQueue<BoardRecord> out,
+                       AtomicInteger runningSolvers) {
+        try {
+            try {
+                BoardRecord record;
+                while((record = in.take()) != BoardRecord.END_OF_STREAM) {
+                    if(!record.getHasError()) {
+                        try {
+                            record.setSolution(record.getAlgorithm().getSolution());
+                            if(factory != null) {
+                                factory.report(record.getAlgorithm());
+                            }
+                        } catch(RuntimeException e) {
+                            record.setError("The algorithm failed: " + e);
+                        }
+                    }
+                    out.put(record);
+                }
+            } catch(InterruptedException e) {
+                throw e;
+            } catch(Throwable e) {
+                // The board that failed never reaches the write stage, which would wait for it
+                // forever in ordered mode, so the write stage is stopped right away
+                fail(e);
+                out.put(BoardRecord.END_OF_STREAM);
+                return;
+            }
+
+            if(runningSolvers.decrementAndGet() == 0) {
+                out.put(BoardRecord.END_OF_STREAM);
+            }
+        } catch(InterruptedException e) {
+            // The pipeline is shutting down
+        }
+    }
+
+    /**
+     * Private method that records the failure of a background stage. Only the first
+     * failure is kept since the others are usually caused by it.
+     * @param e Throwable the exception or error thrown by the stage
+     */
+    private synchronized void fail(Throwable e) {
+        if(failure == null) {
+            failure = e;
+        }
+    }
+
+    /**
+     * Private method for the write stage
+     * @param in BlockingQueue&lt;BoardRecord&gt; queue from the solve stage
+     * @param writer BoardWriter writer for the output stream
+     * @throws IOException if the output stream can't be written
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    private void write(BlockingQueue<BoardRecord> in, BoardWriter writer)
+            throws IOException, InterruptedException {
+        // Boards that were solved before an earlier board in ordered mode.
+        // Its size is bounded by the inFlight semaphore.
+        HashMap<Long, BoardRecord> pending = new HashMap<> ();
+        long nextSequence = 0;
+
+        BoardRecord record;
+        while((record = in.take()) != BoardRecord.END_OF_STREAM) {
+            if(!ordered) {
+                writer.write(record);
+                inFlight.release();
+            } else {
+                pending.put(record.getSequence(), record);
+                while((record = pending.remove(nextSequence)) != null) {
+                    writer.write(record);
+                    inFlight.release();
+                    nextSequence++;
+                }
+            }
+
+            // Only flush when there is nothing else to write right away
+            if(in.isEmpty()) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+}
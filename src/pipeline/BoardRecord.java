@@ -0,0 +1,156 @@
+package pipeline;
+
+import algorithm.NearestNeighborAlgorithm;
+
+/**
+ * BoardRecord carries a single circuit board through the stages of the pipeline.
+ *
+ * The parsing stage fills in the input parameters (or a parse error), the validation
+ * stage attaches the algorithm object, the solving stage fills in the solution and
+ * the writing stage prints whatever has been gathered by then.
+ */
+class BoardRecord {
+
+    /**
+     * Marker record that is passed down the queues once the input has been exhausted
+     */
+    static final BoardRecord END_OF_STREAM = new BoardRecord(-1);
+
+    /**
+     * Private member variables
+     * sequence: Zero-based position of this board in the input stream
+     * lowest, highest, initialPoint, points: Input parameters of the board
+     * hasError: Flag raised if this board could not be parsed, validated or solved
+     * errorMessage: The description of the error
+     * algorithm: The algorithm object that solves this board
+     * solution: The solution path returned by the algorithm
+     */
+    private final long sequence;
+    private int lowest;
+    private int highest;
+    private int initialPoint;
+    private int[] points;
+    private boolean hasError = false;
+    private String errorMessage = "";
+    private NearestNeighborAlgorithm algorithm = null;
+    private String solution = null;
+
+    /**
+     * Package-private constructor
+     * @param sequence long position of the board in the input stream
+     */
+    BoardRecord(long sequence) {
+        this.sequence = sequence;
+    }
+
+    /**
+     * Package-private method to set the input parameters of the board
+     * @param lowest The lowest point
+     * @param highest The highest point
+     * @param initialPoint The first contact point
+     * @param points The set of points to be visited by the robot arm
+     */
+    void setInput(int lowest, int highest, int initialPoint, int[] points) {
+        this.lowest = lowest;
+        this.highest = highest;
+        this.initialPoint = initialPoint;
+        this.points = points;
+    }
+
+    /**
+     * Package-private method to raise the error flag of this board
+     * @param errorMessage String description of the error
+     */
+    void setError(String errorMessage) {
+        this.hasError = true;
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * Package-private get method for sequence
+     * @return long position of the board in the input stream
+     */
+    long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Package-private get method for lowest
+     * @return int the lowest point
+     */
+    int getLowest() {
+        return lowest;
+    }
+
+    /**
+     * Package-private get method for highest
+     * @return int the highest point
+     */
+    int getHighest() {
+        return highest;
+    }
+
+    /**
+     * Package-private get method for initialPoint
+     * @return int the initial point
+     */
+    int getInitialPoint() {
+        return initialPoint;
+    }
+
+    /**
+     * Package-private get method for points
+     * @return int[] points to visit
+     */
+    int[] getPoints() {
+        return points;
+    }
+
+    /**
+     * Package-private get method for hasError
+     * @return boolean true if this board has an error, otherwise false
+     */
+    boolean getHasError() {
+        return hasError;
+    }
+
+    /**
+     * Package-private get method for errorMessage
+     * @return String error message
+     */
+    String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * Package-private get method for algorithm
+     * @return NearestNeighborAlgorithm the algorithm object that solves this board
+     */
+    NearestNeighborAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Package-private set method for algorithm
+     * @param algorithm NearestNeighborAlgorithm the algorithm object that solves this board
+     */
+    void setAlgorithm(NearestNeighborAlgorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Package-private get method for solution
+     * @return String solution path, or null if the board has not been solved
+     */
+    String getSolution() {
+        return solution;
+    }
+
+    /**
+     * Package-private set method for solution
+     * @param solution String solution path
+     */
+    void setSolution(String solution) {
+        this.solution = solution;
+    }
+}
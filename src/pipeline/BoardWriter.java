@@ -0,0 +1,162 @@
+package pipeline;
+
+import algorithm.NearestNeighborHeldKarp;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * BoardWriter prints the result of each board in the output format of the pipeline.
+ *
+ * TEXT output repeats the input parameters followed by the solution path, its length and
+ * the execution time, the same way Main does for a single board. Boards solved by the
+ * Held-Karp algorithm also report the size of its table.
+ *
+ * NDJSON output is one object per board, for example
+ *
+ *      {"board": 0, "solution": [0, -1, 1, 3, -5, -21, 11, 0], "tourLength": 41, "executionTime": 0}
+ *      {"board": 1, "solution": [0, 3, 1, 0], "tourLength": 6, "executionTime": 0, "tableBytes": 32}
+ *      {"board": 2, "error": "Duplicate points found in the set."}
+ */
+class BoardWriter {
+
+    /**
+     * Private member variables
+     * writer: The writer that receives the output stream
+     * format: Output format
+     * lineSeparator: Line separator of the platform
+     */
+    private final Writer writer;
+    private final BoardFormat format;
+    private final String lineSeparator = System.getProperty("line.separator");
+
+    /**
+     * Constructor
+     * @param writer Writer the writer that receives the output stream
+     * @param format BoardFormat output format
+     */
+    BoardWriter(Writer writer, BoardFormat format) {
+        this.writer = writer;
+        this.format = format;
+    }
+
+    /**
+     * Package-private method that writes the result of a board
+     * @param record BoardRecord the board to write
+     * @throws IOException if the output stream can't be written
+     */
+    void write(BoardRecord record) throws IOException {
+        if(format == BoardFormat.NDJSON) {
+            writeNdjson(record);
+        } else {
+            writeText(record);
+        }
+    }
+
+    /**
+     * Package-private method that flushes the output stream
+     * @throws IOException if the output stream can't be written
+     */
+    void flush() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Private method that writes the result of a board in the text format
+     * @param record BoardRecord the board to write
+     * @throws IOException if the output stream can't be written
+     */
+    private void writeText(BoardRecord record) throws IOException {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("Board: ");
+        sb.append(record.getSequence());
+        sb.append(lineSeparator);
+
+        if(record.getHasError()) {
+            sb.append("Error: ");
+            sb.append(record.getErrorMessage());
+            sb.append(lineSeparator);
+        } else {
+            sb.append(record.getAlgorithm().getInputParameters());
+            sb.append(lineSeparator);
+            sb.append("Solution: ");
+            sb.append(record.getSolution());
+            sb.append(lineSeparator);
+            sb.append("Tour Length: ");
+            sb.append(record.getAlgorithm().getTourLength());
+            sb.append(lineSeparator);
+            if(record.getAlgorithm() instanceof NearestNeighborHeldKarp) {
+                sb.append("Table Size: ");
+                sb.append(((NearestNeighborHeldKarp) record.getAlgorithm()).getTableBytes());
+                sb.append(" bytes");
+                sb.append(lineSeparator);
+            }
+            sb.append("Execution Time: ");
+            sb.append(record.getAlgorithm().getExecutionTime());
+            sb.append("ms");
+            sb.append(lineSeparator);
+        }
+        sb.append(lineSeparator);
+
+        writer.write(sb.toString());
+    }
+
+    /**
+     * Private method that writes the result of a board as a single JSON line
+     * @param record BoardRecord the board to write
+     * @throws IOException if the output stream can't be written
+     */
+    private void writeNdjson(BoardRecord record) throws IOException {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("{\"board\": ");
+        sb.append(record.getSequence());
+
+        if(record.getHasError()) {
+            sb.append(", \"error\": \"");
+            appendEscaped(sb, record.getErrorMessage());
+            sb.append('"');
+        } else {
+            sb.append(", \"solution\": [");
+            String[] points = record.getSolution().trim().split(" ");
+            for(int i = 0; i < points.length; i++) {
+                if(i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(points[i]);
+            }
+            sb.append("], \"tourLength\": ");
+            sb.append(record.getAlgorithm().getTourLength());
+            sb.append(", \"executionTime\": ");
+            sb.append(record.getAlgorithm().getExecutionTime());
+            if(record.getAlgorithm() instanceof NearestNeighborHeldKarp) {
+                sb.append(", \"tableBytes\": ");
+                sb.append(((NearestNeighborHeldKarp) record.getAlgorithm()).getTableBytes());
+            }
+        }
+        sb.append('}');
+        sb.append(lineSeparator);
+
+        writer.write(sb.toString());
+    }
+
+    /**
+     * Private method that appends the given text as the contents of a JSON string
+     * @param sb StringBuilder the builder to append to
+     * @param text String the text to escape
+     */
+    private void appendEscaped(StringBuilder sb, String text) {
+        for(int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if(c == '"' || c == '\\') {
+                sb.append('\\');
+                sb.append(c);
+            } else if(c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+    }
+}
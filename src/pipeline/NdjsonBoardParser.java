@@ -0,0 +1,258 @@
+package pipeline;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Parser for newline delimited JSON
+ *
+ * Each non-blank line is a flat JSON object with the integer members "lowest",
+ * "highest" and "initialPoint" and the integer array member "points".
+ * Any other member is ignored as long as its value is a number, a string, a boolean,
+ * null or an array of those. Nothing but whitespace may follow the object on its line.
+ */
+class NdjsonBoardParser extends BoardParser {
+
+    /**
+     * Private member variables
+     * line: The line being parsed
+     * position: Index of the next character to read in the line
+     */
+    private String line;
+    private int position;
+
+    /**
+     * Constructor
+     * @param reader BufferedReader the reader that supplies the input stream
+     */
+    NdjsonBoardParser(BufferedReader reader) {
+        super(reader);
+    }
+
+    /**
+     * Implement next method to read the next line as a board
+     * @return BoardRecord the next board, or null if the input stream is exhausted
+     * @throws IOException if the input stream can't be read
+     */
+    @Override
+    BoardRecord next() throws IOException {
+        do {
+            line = reader.readLine();
+            if(line == null) {
+                return null;
+            }
+        } while(line.trim().isEmpty());
+
+        BoardRecord record = new BoardRecord(sequence++);
+        position = 0;
+
+        Integer lowest = null;
+        Integer highest = null;
+        Integer initialPoint = null;
+        int[] points = null;
+
+        try {
+            expect('{');
+            if(peek() == '}') {
+                position++;
+            } else {
+                while(true) {
+                    String key = readString();
+                    expect(':');
+
+                    if(key.equals("lowest")) {
+                        lowest = Integer.parseInt(readToken());
+                    } else if(key.equals("highest")) {
+                        highest = Integer.parseInt(readToken());
+                    } else if(key.equals("initialPoint")) {
+                        initialPoint = Integer.parseInt(readToken());
+                    } else if(key.equals("points")) {
+                        points = readIntArray();
+                    } else {
+                        skipValue();
+                    }
+
+                    char c = nextChar();
+                    if(c == '}') {
+                        break;
+                    } else if(c != ',') {
+                        throw new IllegalArgumentException("expected ',' or '}' at column " + position);
+                    }
+                }
+            }
+            expectEndOfLine();
+        } catch(IllegalArgumentException e) {
+            // Also catches NumberFormatException from the integer members
+            record.setError("Malformed JSON: " + e.getMessage());
+            return record;
+        }
+
+        if(lowest == null || highest == null || initialPoint == null || points == null) {
+            record.setError("Incomplete board. Every board needs \"lowest\", \"highest\", "
+                    + "\"initialPoint\" and \"points\".");
+            return record;
+        }
+
+        record.setInput(lowest, highest, initialPoint, points);
+        return record;
+    }
+
+    /**
+     * Private method that returns the next non-whitespace character without consuming it
+     * @return char the next character
+     */
+    private char peek() {
+        while(position < line.length() && Character.isWhitespace(line.charAt(position))) {
+            position++;
+        }
+        if(position >= line.length()) {
+            throw new IllegalArgumentException("unexpected end of line");
+        }
+        return line.charAt(position);
+    }
+
+    /**
+     * Private method that consumes and returns the next non-whitespace character
+     * @return char the next character
+     */
+    private char nextChar() {
+        char c = peek();
+        position++;
+        return c;
+    }
+
+    /**
+     * Private method that consumes the next non-whitespace character and checks it
+     * @param expected char the expected character
+     */
+    private void expect(char expected) {
+        char c = nextChar();
+        if(c != expected) {
+            throw new IllegalArgumentException("expected '" + expected + "' at column " + position);
+        }
+    }
+
+    /**
+     * Private method that checks that only whitespace is left on the line
+     */
+    private void expectEndOfLine() {
+        while(position < line.length() && Character.isWhitespace(line.charAt(position))) {
+            position++;
+        }
+        if(position < line.length()) {
+            throw new IllegalArgumentException("unexpected '" + line.charAt(position) + "' after the object at column "
+                    + (position + 1));
+        }
+    }
+
+    /**
+     * Private method that reads a JSON string. Escaped characters are kept as they are
+     * since none of the recognized keys need them.
+     * @return String the contents of the string
+     */
+    private String readString() {
+        expect('"');
+        int start = position;
+        while(position < line.length() && line.charAt(position) != '"') {
+            if(line.charAt(position) == '\\') {
+                position++;
+            }
+            position++;
+        }
+        if(position >= line.length()) {
+            throw new IllegalArgumentException("unterminated string");
+        }
+        return line.substring(start, position++);
+    }
+
+    /**
+     * Private method that reads a bare token such as a number, true, false or null
+     * @return String the token
+     */
+    private String readToken() {
+        peek();
+        int start = position;
+        while(position < line.length()) {
+            char c = line.charAt(position);
+            if(c == ',' || c == '}' || c == ']' || Character.isWhitespace(c)) {
+                break;
+            }
+            position++;
+        }
+        if(start == position) {
+            throw new IllegalArgumentException("expected a value at column " + position);
+        }
+        return line.substring(start, position);
+    }
+
+    /**
+     * Private method that reads a JSON array of integers
+     * @return int[] the integers in the array
+     */
+    private int[] readIntArray() {
+        expect('[');
+        if(peek() == ']') {
+            position++;
+            return new int[0];
+        }
+
+        int[] values = new int[16];
+        int count = 0;
+        while(true) {
+            if(count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = Integer.parseInt(readToken());
+
+            char separator = nextChar();
+            if(separator == ']') {
+                break;
+            } else if(separator != ',') {
+                throw new IllegalArgumentException("expected ',' or ']' at column " + position);
+            }
+        }
+        return Arrays.copyOf(values, count);
+    }
+
+    /**
+     * Private method that skips the value of an unrecognized member. Nested arrays are
+     * tracked with a depth counter instead of recursion so that a deeply nested value
+     * can't overflow the stack.
+     */
+    private void skipValue() {
+        int depth = 0;
+        while(true) {
+            char c = peek();
+            if(c == '[') {
+                position++;
+                if(peek() != ']') {
+                    depth++;
+                    continue;
+                }
+                position++;
+            } else if(c == '"') {
+                readString();
+            } else if(c == '{') {
+                throw new IllegalArgumentException("nested objects are not supported");
+            } else {
+                readToken();
+            }
+
+            // A value has been skipped. Close every array that ends after it.
+            while(depth > 0) {
+                char separator = nextChar();
+                if(separator == ']') {
+                    depth--;
+                } else if(separator == ',') {
+                    break;
+                } else {
+                    throw new IllegalArgumentException("expected ',' or ']' at column " + position);
+                }
+            }
+            if(depth == 0) {
+                return;
+            }
+        }
+    }
+}
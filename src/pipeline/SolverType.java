@@ -0,0 +1,85 @@
+package pipeline;
+
+import algorithm.HeuristicTourSolver;
+import algorithm.NearestNeighborAlgorithm;
+import algorithm.NearestNeighborHeldKarp;
+import algorithm.NearestNeighborMultiStart;
+import algorithm.NearestNeighborPermutation;
+import algorithm.NearestNeighborTourSolver;
+import algorithm.SpaceFillingCurveTourSolver;
+import algorithm.TourSolver;
+
+import java.io.File;
+
+/**
+ * Algorithms that the pipeline can solve the boards with
+ *
+ * HEURISTIC and CURVE solve every board with one stateless TourSolver shared by all
+ * solver threads, so each board only needs its Board and its tour.
+ *
+ * AUTO leaves the choice to TourSolverFactory, which picks the exact space-filling curve
+ * for every board and predicts its execution time from the size and the range of the board.
+ */
+public enum SolverType {
+    HEURISTIC,
+    MULTI_START,
+    PERMUTATION,
+    HELD_KARP,
+    CURVE,
+    AUTO;
+
+    /**
+     * Private static member variables
+     * heuristicSolver: The stateless heuristic shared by every HEURISTIC board
+     * curveSolver: The stateless space-filling curve shared by every CURVE board
+     */
+    private static final TourSolver heuristicSolver = new HeuristicTourSolver();
+    private static final TourSolver curveSolver = new SpaceFillingCurveTourSolver();
+
+    /**
+     * Public method that instantiates the algorithm for the given board. A Held-Karp
+     * table is always allocated in memory.
+     * @param lowest The lowest point
+     * @param highest The highest point
+     * @param initialPoint The first contact point
+     * @param pointsToVisit The set of points to be visited by the robot arm
+     * @return NearestNeighborAlgorithm algorithm object for the board
+     * @throws UnsupportedOperationException for AUTO, which needs a TourSolverFactory
+     */
+    public NearestNeighborAlgorithm create(int lowest, int highest, int initialPoint, int[] pointsToVisit) {
+        return create(lowest, highest, initialPoint, pointsToVisit, Long.MAX_VALUE, null);
+    }
+
+    /**
+     * Public method that instantiates the algorithm for the given board
+     * @param lowest The lowest point
+     * @param highest The highest point
+     * @param initialPoint The first contact point
+     * @param pointsToVisit The set of points to be visited by the robot arm
+     * @param memoryLimit Largest Held-Karp table, in bytes, to allocate in memory
+     * @param scratchDirectory Directory for the scratch file of larger Held-Karp tables, or null to
+     *                         always allocate in memory
+     * @return NearestNeighborAlgorithm algorithm object for the board
+     * @throws UnsupportedOperationException for AUTO, which needs a TourSolverFactory
+     */
+    public NearestNeighborAlgorithm create(int lowest, int highest, int initialPoint, int[] pointsToVisit,
+                                           long memoryLimit, File scratchDirectory) {
+        if(this == AUTO) {
+            throw new UnsupportedOperationException("AUTO boards are created by TourSolverFactory.");
+        }
+        if(this == MULTI_START) {
+            return new NearestNeighborMultiStart(lowest, highest, initialPoint, pointsToVisit);
+        }
+        if(this == HELD_KARP) {
+            return new NearestNeighborHeldKarp(lowest, highest, initialPoint, pointsToVisit,
+                    memoryLimit, scratchDirectory);
+        }
+        if(this == CURVE) {
+            return new NearestNeighborTourSolver(lowest, highest, initialPoint, pointsToVisit, curveSolver);
+        }
+        if(this == PERMUTATION) {
+            return new NearestNeighborPermutation(lowest, highest, initialPoint, pointsToVisit);
+        }
+        return new NearestNeighborTourSolver(lowest, highest, initialPoint, pointsToVisit, heuristicSolver);
+    }
+}
@@ -0,0 +1,209 @@
+package pipeline;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Parser for the text format shown in the README
+ *
+ * Each board is a block of "Lowest Point", "Highest Point", "Initial Point" and
+ * "Points To Visit" lines, and "Points To Visit" is the last line of a board.
+ * The points may follow the label on the same line or on the next line, which is
+ * how NearestNeighborAlgorithm.getInputParameters() prints them. If the label has
+ * no value and the next line is blank, the board has no points to visit besides
+ * the initial point. Otherwise, blank lines and lines starting with '#' are ignored,
+ * both within a board and between two boards.
+ */
+class TextBoardParser extends BoardParser {
+
+    /**
+     * Private constants for the line labels
+     */
+    private static final String LOWEST_LABEL = "Lowest Point:";
+    private static final String HIGHEST_LABEL = "Highest Point:";
+    private static final String INITIAL_LABEL = "Initial Point:";
+    private static final String POINTS_LABEL = "Points To Visit:";
+
+    /**
+     * Private constants for the labels returned by labelOf()
+     */
+    private static final int LOWEST = 0;
+    private static final int HIGHEST = 1;
+    private static final int INITIAL = 2;
+    private static final int POINTS = 3;
+
+    /**
+     * Private member variable
+     * pending: A line that has been read ahead and belongs to the next board, or null
+     */
+    private String pending = null;
+
+    /**
+     * Constructor
+     * @param reader BufferedReader the reader that supplies the input stream
+     */
+    TextBoardParser(BufferedReader reader) {
+        super(reader);
+    }
+
+    /**
+     * Implement next method to read the next block of lines as a board
+     * @return BoardRecord the next board, or null if the input stream is exhausted
+     * @throws IOException if the input stream can't be read
+     */
+    @Override
+    BoardRecord next() throws IOException {
+        String line = nextContentLine();
+        if(line == null) {
+            return null;
+        }
+
+        BoardRecord record = new BoardRecord(sequence++);
+        Integer lowest = null;
+        Integer highest = null;
+        Integer initialPoint = null;
+        int seen = 0;
+
+        try {
+            while(line != null) {
+                int label = labelOf(line);
+                if(label >= 0 && (seen & (1 << label)) != 0) {
+                    // A label that has appeared already starts the next board
+                    pending = line;
+                    break;
+                }
+                if(label >= 0) {
+                    seen |= 1 << label;
+                }
+
+                if(label == LOWEST) {
+                    lowest = Integer.parseInt(line.substring(LOWEST_LABEL.length()).trim());
+                } else if(label == HIGHEST) {
+                    highest = Integer.parseInt(line.substring(HIGHEST_LABEL.length()).trim());
+                } else if(label == INITIAL) {
+                    initialPoint = Integer.parseInt(line.substring(INITIAL_LABEL.length()).trim());
+                } else if(label == POINTS) {
+                    String points = line.substring(POINTS_LABEL.length());
+                    if(points.trim().isEmpty()) {
+                        points = nextPointsLine();
+                    }
+
+                    // "Points To Visit" is the last line of a board
+                    if(lowest == null || highest == null || initialPoint == null) {
+                        break;
+                    }
+                    record.setInput(lowest, highest, initialPoint, parsePoints(points));
+                    return record;
+                } else {
+                    record.setError("Unrecognized line: " + line);
+                    skipBoard(seen);
+                    return record;
+                }
+
+                line = nextContentLine();
+            }
+        } catch(NumberFormatException e) {
+            record.setError("Malformed number: " + e.getMessage());
+            skipBoard(seen);
+            return record;
+        }
+
+        record.setError("Incomplete board. Every board needs the lowest point, the highest point, "
+                + "the initial point and the points to visit.");
+        return record;
+    }
+
+    /**
+     * Private method that returns the next line that is neither blank nor a comment
+     * @return String trimmed line, or null if the input stream is exhausted
+     * @throws IOException if the input stream can't be read
+     */
+    private String nextContentLine() throws IOException {
+        if(pending != null) {
+            String line = pending;
+            pending = null;
+            return line;
+        }
+
+        String line;
+        while((line = reader.readLine()) != null) {
+            line = line.trim();
+            if(!line.isEmpty() && !line.startsWith("#")) {
+                return line;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Private method that reads the points on the line after a "Points To Visit" label
+     * without a value. The list is empty if that line is blank, the input stream is
+     * exhausted or the next board starts right away.
+     * @return String the points, or an empty string if there are none
+     * @throws IOException if the input stream can't be read
+     */
+    private String nextPointsLine() throws IOException {
+        String line;
+        while((line = reader.readLine()) != null) {
+            line = line.trim();
+            if(line.startsWith("#")) {
+                continue;
+            }
+            if(labelOf(line) >= 0) {
+                pending = line;
+                return "";
+            }
+            return line;
+        }
+        return "";
+    }
+
+    /**
+     * Private method that skips the remaining lines of a malformed board so
+     * parsing can resume with the next board. The board ends after its points to
+     * visit, or before a label it already has.
+     * @param seen int bit set of the labels the board has so far
+     * @throws IOException if the input stream can't be read
+     */
+    private void skipBoard(int seen) throws IOException {
+        if((seen & (1 << POINTS)) != 0) {
+            return;
+        }
+
+        String line;
+        while((line = nextContentLine()) != null) {
+            int label = labelOf(line);
+            if(label >= 0 && (seen & (1 << label)) != 0) {
+                pending = line;
+                return;
+            }
+            if(label == POINTS) {
+                if(line.substring(POINTS_LABEL.length()).trim().isEmpty()) {
+                    nextPointsLine();
+                }
+                return;
+            }
+            if(label >= 0) {
+                seen |= 1 << label;
+            }
+        }
+    }
+
+    /**
+     * Private static method that returns which label a line starts with
+     * @param line String trimmed line
+     * @return int LOWEST, HIGHEST, INITIAL or POINTS, or -1 if the line has no label
+     */
+    private static int labelOf(String line) {
+        if(line.startsWith(LOWEST_LABEL)) {
+            return LOWEST;
+        } else if(line.startsWith(HIGHEST_LABEL)) {
+            return HIGHEST;
+        } else if(line.startsWith(INITIAL_LABEL)) {
+            return INITIAL;
+        } else if(line.startsWith(POINTS_LABEL)) {
+            return POINTS;
+        }
+        return -1;
+    }
+}